@@ -0,0 +1,31 @@
+package com.example.booking;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Boots the application against a private in-memory H2 database, with a random port and quiet logging,
+ * so database-backed benchmarks measure the real beans and queries.
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String name, Map<String, Object> overrides) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("spring.datasource.url", "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        props.put("spring.datasource.username", "sa");
+        props.put("spring.datasource.password", "");
+        props.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        props.put("spring.jpa.show-sql", "false");
+        props.put("server.port", "0");
+        props.put("logging.level.root", "WARN");
+        props.put("jwt.secret", "benchmark-secret-benchmark-secret-benchmark-secret");
+        props.putAll(overrides);
+        return new SpringApplicationBuilder(BookingSystemApplication.class).properties(props).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.booking.controller;
+
+import com.example.booking.dto.ReservationResponse;
+import com.example.booking.model.Reservation;
+import com.example.booking.model.ReservationStatus;
+import com.example.booking.model.ResourceEntity;
+import com.example.booking.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/** Entity-to-DTO mapping and JSON serialization of a single reservation response. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReservationMappingBenchmark {
+
+    private Reservation reservation;
+    private ReservationResponse response;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ResourceEntity resource = new ResourceEntity();
+        resource.setId(7L);
+        resource.setName("Conference Room A");
+        User user = new User();
+        user.setId(3L);
+        user.setUsername("user");
+
+        reservation = new Reservation();
+        reservation.setId(42L);
+        reservation.setResource(resource);
+        reservation.setUser(user);
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        reservation.setPrice(new BigDecimal("120.00"));
+        reservation.setStartTime(Instant.parse("2025-03-01T09:00:00Z"));
+        reservation.setEndTime(Instant.parse("2025-03-01T10:30:00Z"));
+        reservation.setCreatedAt(Instant.parse("2025-02-01T12:00:00Z"));
+        reservation.setUpdatedAt(Instant.parse("2025-02-02T08:15:00Z"));
+
+        response = ReservationController.toDto(reservation);
+        // same settings Spring Boot applies to the application's ObjectMapper
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public ReservationResponse toDto() {
+        return ReservationController.toDto(reservation);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ReservationController.toDto(reservation));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.booking.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/** Token issue and validation cost, with the verified-claims cache on and off. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandardEnvironment env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "jwt.secret", "benchmark-secret-benchmark-secret-benchmark-secret",
+                "jwt.cache.max-size", cache ? "10000" : "0")));
+        jwtUtil = new JwtUtil(env);
+        token = jwtUtil.generateToken("user", Set.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user", Set.of("ROLE_USER"));
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtil.validate(token);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.booking.service;
+
+import com.example.booking.BenchmarkContext;
+import com.example.booking.model.Reservation;
+import com.example.booking.model.ReservationStatus;
+import com.example.booking.model.ResourceEntity;
+import com.example.booking.model.User;
+import com.example.booking.repository.ReservationRepository;
+import com.example.booking.repository.ResourceRepository;
+import com.example.booking.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The capacity check that guards every booking ({@link #admits}), answered from the availability index or, with
+ * {@code source=database}, by a range query against an embedded H2 database; next to it the bare index peak the
+ * search endpoints read ({@link #indexPeak}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OverlapCheckBenchmark {
+    private static final Instant ORIGIN = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Param({"1000", "20000"})
+    public int bookings;
+
+    @Param({"index", "database"})
+    public String source;
+
+    private ConfigurableApplicationContext context;
+    private BookingAdmission admission;
+    private AvailabilityIndex availabilityIndex;
+    private ResourceEntity resource;
+    private Long resourceId;
+    private Instant probeStart;
+    private Instant probeEnd;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("overlap-" + bookings + "-" + source,
+                Map.of("booking.availability-index.enabled", String.valueOf(source.equals("index"))));
+        resource = context.getBean(ResourceRepository.class).findAll().get(0);
+        User user = context.getBean(UserRepository.class).findByUsername("user").orElseThrow();
+        resourceId = resource.getId();
+
+        // one-hour bookings every ten minutes: six overlap at any instant
+        List<Reservation> rows = new ArrayList<>(bookings);
+        for (int i = 0; i < bookings; i++) {
+            Reservation r = new Reservation();
+            r.setResource(resource);
+            r.setUser(user);
+            r.setStatus(ReservationStatus.CONFIRMED);
+            r.setPrice(BigDecimal.TEN);
+            r.setStartTime(ORIGIN.plus(Duration.ofMinutes(10L * i)));
+            r.setEndTime(r.getStartTime().plus(Duration.ofHours(1)));
+            rows.add(r);
+        }
+        context.getBean(ReservationRepository.class).saveAll(rows);
+        availabilityIndex = context.getBean(AvailabilityIndex.class);
+        availabilityIndex.load();
+
+        admission = context.getBean(BookingAdmission.class);
+        probeStart = ORIGIN.plus(Duration.ofMinutes(10L * (bookings / 2)));
+        probeEnd = probeStart.plus(Duration.ofHours(2));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean admits() {
+        // the first call reloads the resource into the index; every later one finds it in step
+        return admission.admits(resource, probeStart, probeEnd);
+    }
+
+    @Benchmark
+    public int indexPeak() {
+        return availabilityIndex.peakOccupancy(resourceId, probeStart, probeEnd);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.booking.spec;
+
+import com.example.booking.BenchmarkContext;
+import com.example.booking.model.Reservation;
+import com.example.booking.model.ReservationStatus;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** Building the list filter and turning it into a Criteria predicate, as every list request does. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ReservationSpecificationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CriteriaBuilder cb;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("spec", Map.of());
+        cb = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Predicate userWithAllFilters() {
+        return toPredicate(ReservationSpecification.build("user", false, ReservationStatus.CONFIRMED,
+                BigDecimal.ONE, BigDecimal.TEN));
+    }
+
+    @Benchmark
+    public Predicate adminUnfiltered() {
+        return toPredicate(ReservationSpecification.build("admin", true, null, null, null));
+    }
+
+    private Predicate toPredicate(Specification<Reservation> spec) {
+        CriteriaQuery<Reservation> query = cb.createQuery(Reservation.class);
+        Root<Reservation> root = query.from(Reservation.class);
+        return spec.toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.booking.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small bounded cache with per-entry expiry, tuned for read-heavy use.
+ *
+ * Reads are lock-free. When a write pushes the size past {@code maxSize}, one writer trims the map:
+ * expired entries go first, then the least recently read ones, down to 90% of capacity. The bound is
+ * therefore approximate under concurrent writes.
+ */
+public class ExpiringCache<K, V> {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock trimLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && ttlMillis > 0;
+    }
+
+    public V get(K key) {
+        Entry<V> e = entries.get(key);
+        long now = System.currentTimeMillis();
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+        if (e.expiresAt <= now) {
+            if (entries.remove(key, e)) evictions.increment();
+            misses.increment();
+            return null;
+        }
+        e.lastRead = now;
+        hits.increment();
+        return e.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, Long.MAX_VALUE);
+    }
+
+    /** Caches {@code value} until {@code expiresAtMillis} or the cache TTL, whichever comes first. */
+    public void put(K key, V value, long expiresAtMillis) {
+        if (!isEnabled()) return;
+        long now = System.currentTimeMillis();
+        long expiresAt = Math.min(expiresAtMillis, now + ttlMillis);
+        if (expiresAt <= now) return;
+        entries.put(key, new Entry<>(value, expiresAt, now));
+        if (entries.size() > maxSize) {
+            trim();
+        }
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private void trim() {
+        if (!trimLock.tryLock()) return; // someone else is already trimming
+        try {
+            long now = System.currentTimeMillis();
+            int before = entries.size();
+            entries.values().removeIf(e -> e.expiresAt <= now);
+            int excess = entries.size() - (maxSize - maxSize / 10);
+            if (excess > 0) {
+                List<Map.Entry<K, Entry<V>>> byAge = new ArrayList<>(entries.entrySet());
+                byAge.sort(Comparator.comparingLong(e -> e.getValue().lastRead));
+                for (int i = 0; i < excess && i < byAge.size(); i++) {
+                    entries.remove(byAge.get(i).getKey(), byAge.get(i).getValue());
+                }
+            }
+            evictions.add(Math.max(0, before - entries.size()));
+        } finally {
+            trimLock.unlock();
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+        volatile long lastRead;
+
+        Entry(V value, long expiresAt, long lastRead) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.lastRead = lastRead;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.booking.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Publishes SLO histogram buckets ({@code booking.metrics.slo}, e.g. {@code 50ms,100ms,250ms}) for every
+     * {@code booking.*} timer, so p99 latency can be alerted on from the scrape endpoint.
+     * Per-meter management.metrics.distribution.* settings still win.
+     */
+    @Bean
+    public MeterFilter bookingSloBuckets(Environment env) {
+        double[] slos = Arrays.stream(env.getProperty("booking.metrics.slo", "25ms,50ms,100ms,250ms,500ms,1s,2s").split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .mapToDouble(s -> DurationStyle.detectAndParse(s).toNanos())
+                .sorted()
+                .toArray();
+        DistributionStatisticConfig buckets = DistributionStatisticConfig.builder()
+                .serviceLevelObjectives(slos)
+                .build();
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() == Meter.Type.TIMER && id.getName().startsWith("booking.")) {
+                    return config.merge(buckets);
+                }
+                return config;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.booking.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Versioned migrations (the {@code JavaMigration} beans in {@code com.example.booking.migration}) on top of the
+ * schema Hibernate maintains through {@code ddl-auto}.
+ *
+ * Boot runs Flyway before JPA starts, when ddl-auto has not created the tables yet, so migrating is held back
+ * until every singleton, the entity manager factory included, is up. Existing databases get a baseline at 0
+ * so every migration still applies to them.
+ */
+@Configuration
+@ConditionalOnClass(Flyway.class)
+public class MigrationConfig {
+
+    @Bean
+    public FlywayConfigurationCustomizer baselineExistingSchema(Environment env) {
+        return configuration -> {
+            if (!env.containsProperty("spring.flyway.baseline-on-migrate")) {
+                configuration.baselineOnMigrate(true);
+            }
+            if (!env.containsProperty("spring.flyway.baseline-version")) {
+                configuration.baselineVersion("0");
+            }
+        };
+    }
+
+    @Bean
+    public FlywayMigrationStrategy migrateAfterSchemaCreation() {
+        return new DeferredMigration();
+    }
+
+    private static final class DeferredMigration implements FlywayMigrationStrategy, SmartInitializingSingleton {
+        private Flyway flyway;
+
+        @Override
+        public void migrate(Flyway flyway) {
+            this.flyway = flyway;
+        }
+
+        @Override
+        public void afterSingletonsInstantiated() {
+            if (flyway != null) {
+                flyway.migrate();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.booking.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+
+@Configuration
+public class PersistenceConfig {
+
+    /**
+     * JDBC batching for bulk inserts. Explicit spring.jpa.properties.hibernate.* settings still win.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(Environment env) {
+        int batchSize = env.getProperty("booking.jdbc.batch-size", Integer.class, 50);
+        return props -> {
+            props.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            props.putIfAbsent("hibernate.order_inserts", true);
+        };
+    }
+
+    /**
+     * Open-in-view off unless {@code spring.jpa.open-in-view=true} is set. Spring's Hibernate setup keeps a session's
+     * connection until the session closes, so with a session per request an update or cancel waiting for its
+     * resource's lock stripe would hold the connection its lookup used; a burst on one resource could drain the pool.
+     * Responses are mapped inside the service transactions or from fetched associations, not lazily in the view.
+     *
+     * Boot installs its interceptor only when no bean of this type exists; this one is never registered with MVC.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.jpa", name = "open-in-view", havingValue = "false", matchIfMissing = true)
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs Tomcat request handling and the application task executor (MVC async work such as streamed exports,
+ * and {@code @Async} methods) on virtual threads when {@code booking.virtual-threads.enabled=true}.
+ *
+ * Requires Java 21 at runtime; the executor is looked up reflectively so the code still compiles on 17.
+ * With the Tomcat thread cap gone, the connection pool becomes the concurrency limit and is sized explicitly.
+ * Off by default: its effect against platform threads has not been measured (see loadtest/README.md).
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Tomcat requests will run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    /** Replaces Boot's pooled {@code applicationTaskExecutor}, which MVC async requests and {@code @Async} use. */
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Platform threads used to cap concurrent requests at the Tomcat pool size (200). Virtual threads do not, so
+     * thousands of requests can wait on the pool: it is sized for what the database sustains, and the wait is
+     * bounded so overload fails fast instead of queueing. Explicit spring.datasource.hikari.* settings still win.
+     */
+    @Bean
+    public static BeanPostProcessor virtualThreadPoolSizing(Environment env) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    if (!env.containsProperty("spring.datasource.hikari.maximum-pool-size")) {
+                        pool.setMaximumPoolSize(env.getProperty("booking.virtual-threads.db-pool-size", Integer.class,
+                                Math.max(10, Runtime.getRuntime().availableProcessors() * 2)));
+                    }
+                    if (!env.containsProperty("spring.datasource.hikari.connection-timeout")) {
+                        pool.setConnectionTimeout(env.getProperty("booking.virtual-threads.db-wait-ms", Long.class, 5000L));
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("booking.virtual-threads.enabled requires Java 21 or later", e);
+        }
+    }
+}
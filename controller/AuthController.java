@@ -2,13 +2,18 @@ package com.example.booking.controller;
 
 import com.example.booking.dto.AuthRequest;
 import com.example.booking.dto.AuthResponse;
+import com.example.booking.dto.RefreshRequest;
+import com.example.booking.exception.ServiceOverloadedException;
 import com.example.booking.model.Role;
 import com.example.booking.model.User;
 import com.example.booking.repository.UserRepository;
-import com.example.booking.security.JwtUtil;
+import com.example.booking.service.RefreshTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -16,22 +21,24 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     private final AuthenticationManager authManager;
-    private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
 
-    public AuthController(AuthenticationManager authManager, JwtUtil jwtUtil, UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthController(AuthenticationManager authManager, RefreshTokenService refreshTokenService, UserRepository userRepository,
+                          PasswordEncoder passwordEncoder, MeterRegistry meterRegistry) {
         this.authManager = authManager;
-        this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
     }
 
 
@@ -58,6 +65,9 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody AuthRequest request) {
+        // whole login; the BCrypt share is booking.auth.password{operation=matches}
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try {
             // Authenticate the user
             Authentication auth = authManager.authenticate(new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
@@ -65,18 +75,41 @@ public class AuthController {
             // Fetch the user from the DB
             User user = userRepository.findByUsername(request.getUsername()).orElseThrow(() -> new RuntimeException("User not found"));
 
-            // Get roles as a Set<String>
-            Set<String> roles = user.getRoles().stream()
-                    .map(Enum::name)
-                    .collect(Collectors.toSet());
-            // Generate JWT token
-            String token = jwtUtil.generateToken(user.getUsername(), roles);
-
-            // Return token in response
-            return ResponseEntity.ok(new AuthResponse(token));
+            // Short-lived access token plus a refresh token for renewing it without the password
+            AuthResponse tokens = refreshTokenService.login(user);
+            outcome = "success";
+            return ResponseEntity.ok(tokens);
+        } catch (ServiceOverloadedException e) {
+            // not a credential failure: surfaces as 503 with Retry-After
+            outcome = "overloaded";
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Login failed: " + e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("booking.auth.login", "outcome", outcome));
         }
     }
 
+    /** Exchanges a refresh token for a new access token and a new refresh token; the old one stops working. */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            AuthResponse tokens = refreshTokenService.refresh(request.getRefreshToken());
+            outcome = "success";
+            return ResponseEntity.ok(tokens);
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Refresh failed: " + e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("booking.auth.refresh", "outcome", outcome));
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestBody RefreshRequest request) {
+        refreshTokenService.logout(request.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
 }
@@ -0,0 +1,24 @@
+package com.example.booking.controller;
+
+import com.example.booking.service.ResourceSnapshot;
+
+import java.time.Instant;
+
+/**
+ * Strong entity tags. Each one is derived from a value that changes on every write, so it can be
+ * computed from lightweight metadata before the full entity is loaded.
+ */
+final class ETags {
+
+    private ETags() {}
+
+    static String reservation(Long id, Instant updatedAt) {
+        if (updatedAt == null) return null;
+        return "\"rsv-" + id + "-" + updatedAt.getEpochSecond() + "." + updatedAt.getNano() + "\"";
+    }
+
+    static String resource(ResourceSnapshot r) {
+        if (r.getVersion() == null) return null;
+        return "\"res-" + r.getId() + "-v" + r.getVersion() + "\"";
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.booking.controller;
+
+import com.example.booking.dto.RevenueByStatus;
+import com.example.booking.dto.RollupRebuildResult;
+import com.example.booking.dto.UtilizationDay;
+import com.example.booking.service.RollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** Utilization and revenue reports, answered from the daily rollups rather than the reservations table. */
+@RestController
+@RequestMapping("/reports")
+@PreAuthorize("hasRole('ADMIN')")
+public class ReportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+    private final RollupService rollupService;
+
+    public ReportController(RollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    @GetMapping("/utilization")
+    public ResponseEntity<List<UtilizationDay>> utilization(@RequestParam Long resourceId, @RequestParam String from, @RequestParam String to) {
+        return ResponseEntity.ok(rollupService.utilization(resourceId, LocalDate.parse(from), LocalDate.parse(to)));
+    }
+
+    @GetMapping("/revenue")
+    public ResponseEntity<List<RevenueByStatus>> revenue(@RequestParam(required = false) Long resourceId, @RequestParam String from, @RequestParam String to) {
+        return ResponseEntity.ok(rollupService.revenue(resourceId, LocalDate.parse(from), LocalDate.parse(to)));
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<RollupRebuildResult> rebuild() {
+        logger.info("Rebuilding reservation rollups");
+        return ResponseEntity.ok(rollupService.rebuild());
+    }
+}
@@ -1,61 +1,226 @@
 package com.example.booking.controller;
 
+import com.example.booking.dto.BatchItemResult;
+import com.example.booking.dto.BatchReservationRequest;
+import com.example.booking.dto.BatchReservationResponse;
+import com.example.booking.dto.BookingTicket;
+import com.example.booking.dto.CursorPage;
+import com.example.booking.dto.RecurringReservationRequest;
 import com.example.booking.dto.ReservationRequest;
 import com.example.booking.dto.ReservationResponse;
+import com.example.booking.dto.SeriesReservationResponse;
 import com.example.booking.model.Reservation;
 import com.example.booking.model.ReservationStatus;
+import com.example.booking.security.AuthenticatedUser;
+import com.example.booking.service.BatchItem;
+import com.example.booking.service.BookingQueue;
 import com.example.booking.service.ReservationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/reservations")
 public class ReservationController {
 
     private static final Logger logger = LoggerFactory.getLogger(ReservationController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final String CSV_HEADER = "id,resourceId,resourceName,userId,username,status,price,startTime,endTime,createdAt,updatedAt";
+
     private final ReservationService service;
+    private final BookingQueue bookingQueue;
+    private final ObjectMapper objectMapper;
 
-    public ReservationController(ReservationService service) {
+    public ReservationController(ReservationService service, BookingQueue bookingQueue, ObjectMapper objectMapper) {
         this.service = service;
+        this.bookingQueue = bookingQueue;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public ResponseEntity<Page<ReservationResponse>> list(Authentication auth, @RequestParam(required = false) ReservationStatus status, @RequestParam(required = false) BigDecimal minPrice, @RequestParam(required = false) BigDecimal maxPrice, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size, @RequestParam(required = false) String sort) {
+    public ResponseEntity<Page<ReservationResponse>> list(Authentication auth, @RequestParam(required = false) ReservationStatus status, @RequestParam(required = false) BigDecimal minPrice, @RequestParam(required = false) BigDecimal maxPrice, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size, @RequestParam(required = false) String sort, @RequestParam(defaultValue = "false") boolean includeArchived) {
         boolean isAdmin = isAdmin(auth);
         String username = auth.getName();
 
-        logger.info("Listing reservations for user={}, isAdmin={}, status={}, priceRange=[{},{}], page={}, size={}, sort={}", username, isAdmin, status, minPrice, maxPrice, page, size, sort);
+        logger.info("Listing reservations for user={}, isAdmin={}, status={}, priceRange=[{},{}], page={}, size={}, sort={}, includeArchived={}", username, isAdmin, status, minPrice, maxPrice, page, size, sort, includeArchived);
 
-        var reservations = service.list(username, isAdmin, status, minPrice, maxPrice, page, size, sort);
-        return ResponseEntity.ok(reservations.map(this::toDto));
+        return ResponseEntity.ok(service.list(username, isAdmin, status, minPrice, maxPrice, page, size, sort, includeArchived));
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ReservationResponse>> scroll(Authentication auth, @RequestParam(required = false) ReservationStatus status, @RequestParam(required = false) BigDecimal minPrice, @RequestParam(required = false) BigDecimal maxPrice, @RequestParam String cursor, @RequestParam(defaultValue = "10") int size, @RequestParam(required = false) String sort) {
+        boolean isAdmin = isAdmin(auth);
+        String username = auth.getName();
+
+        logger.info("Scrolling reservations for user={}, isAdmin={}, status={}, priceRange=[{},{}], size={}, sort={}, firstPage={}", username, isAdmin, status, minPrice, maxPrice, size, sort, cursor.isBlank());
+
+        return ResponseEntity.ok(service.scroll(username, isAdmin, status, minPrice, maxPrice, cursor, size, sort));
+    }
+
+    /**
+     * Every reservation matching the list filters, streamed as NDJSON (one object per line) or CSV with a header row.
+     * Sorted by {@code sort} ({@code id,asc} by default); rows go to the response as they are read.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(Authentication auth, @RequestParam(defaultValue = "ndjson") String format, @RequestParam(required = false) ReservationStatus status, @RequestParam(required = false) BigDecimal minPrice, @RequestParam(required = false) BigDecimal maxPrice, @RequestParam(required = false) String sort) {
+        boolean isAdmin = isAdmin(auth);
+        String username = auth.getName();
+        boolean csv = switch (format.toLowerCase()) {
+            case "csv" -> true;
+            case "ndjson" -> false;
+            default -> throw new IllegalArgumentException("format must be 'ndjson' or 'csv'");
+        };
+        Sort order = service.exportSort(sort);
+
+        logger.info("Exporting reservations for user={}, isAdmin={}, format={}, status={}, priceRange=[{},{}], sort={}", username, isAdmin, format, status, minPrice, maxPrice, sort);
+
+        StreamingResponseBody body = out -> {
+            if (csv) {
+                try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                    writer.write(CSV_HEADER);
+                    writer.write("\r\n");
+                    service.export(username, isAdmin, status, minPrice, maxPrice, order, row -> {
+                        try {
+                            writeCsvRow(writer, row);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            } else {
+                try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                    // rows are separated by the newline below only, not by Jackson's default space
+                    json.setRootValueSeparator(null);
+                    service.export(username, isAdmin, status, minPrice, maxPrice, order, row -> {
+                        try {
+                            json.writeObject(row);
+                            json.writeRaw('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            }
+        };
+        String filename = "reservations." + (csv ? "csv" : "ndjson");
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ReservationResponse> get(Authentication auth, @PathVariable Long id) {
+    public ResponseEntity<ReservationResponse> get(Authentication auth, @PathVariable Long id, WebRequest request) {
         boolean isAdmin = isAdmin(auth);
 
         logger.info("Fetching reservation id={} by user={}, isAdmin={}", id, auth.getName(), isAdmin);
 
-        var reservation = service.getById(id, auth.getName(), isAdmin);
-        return ResponseEntity.ok(toDto(reservation));
+        // conditional request: compare against the stored timestamp before loading and mapping the reservation
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            String current = ETags.reservation(id, service.getLastModified(id, auth.getName(), isAdmin));
+            if (current != null && request.checkNotModified(current)) {
+                return null;
+            }
+        }
+
+        var reservation = service.getResponse(id, auth.getName(), isAdmin);
+        String etag = ETags.reservation(id, reservation.getUpdatedAt());
+        return etag == null ? ResponseEntity.ok(reservation) : ResponseEntity.ok().eTag(etag).body(reservation);
     }
 
     @PostMapping
     public ResponseEntity<ReservationResponse> create(Authentication auth, @RequestBody ReservationRequest req) {
         logger.info("Creating reservation for user={}, resourceId={}, startTime={}, endTime={}", auth.getName(), req.getResourceId(), req.getStartTime(), req.getEndTime());
 
-        var reservation = service.create(auth.getName(), req, true);
-        return ResponseEntity.status(HttpStatus.CREATED).body(toDto(reservation));
+        Long userId = auth.getPrincipal() instanceof AuthenticatedUser user ? user.getId() : null;
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.create(auth.getName(), userId, req, true));
     }
 
+    /** Queues the booking and answers 202 with a ticket; its outcome is read from {@code Location}. */
+    @PostMapping(params = "async=true")
+    public ResponseEntity<BookingTicket> createAsync(Authentication auth, @RequestBody ReservationRequest req) {
+        logger.info("Queueing reservation for user={}, resourceId={}, startTime={}, endTime={}", auth.getName(), req.getResourceId(), req.getStartTime(), req.getEndTime());
+
+        Long userId = auth.getPrincipal() instanceof AuthenticatedUser user ? user.getId() : null;
+        BookingTicket ticket = bookingQueue.submit(auth.getName(), userId, req);
+        return ResponseEntity.accepted().location(URI.create("/reservations/tickets/" + ticket.getTicketId())).body(ticket);
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<BookingTicket> ticket(Authentication auth, @PathVariable String ticketId) {
+        return ResponseEntity.ok(bookingQueue.ticket(ticketId, auth.getName(), isAdmin(auth)));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchReservationResponse> createBatch(Authentication auth, @RequestBody BatchReservationRequest req) {
+        int count = req.getItems() == null ? 0 : req.getItems().size();
+        logger.info("Creating batch of {} reservations for user={}, atomic={}", count, auth.getName(), req.isAtomic());
+
+        List<BatchItem> items = service.createBatch(auth.getName(), req.getItems(), req.isAtomic());
+        long failed = items.stream().filter(i -> !i.isAccepted()).count();
+        boolean rejected = req.isAtomic() && failed > 0;
+
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (BatchItem item : items) {
+            BatchItemResult result = new BatchItemResult();
+            result.setIndex(item.getIndex());
+            if (!item.isAccepted()) {
+                result.setOutcome("FAILED");
+                result.setError(item.getError());
+            } else if (rejected) {
+                result.setOutcome("NOT_CREATED");
+            } else {
+                result.setOutcome("CREATED");
+                result.setReservation(toDto(item.getReservation()));
+            }
+            results.add(result);
+        }
+
+        BatchReservationResponse body = new BatchReservationResponse();
+        body.setCreated(rejected ? 0 : items.size() - (int) failed);
+        body.setFailed((int) failed);
+        body.setResults(results);
+
+        HttpStatus status = failed == 0 ? HttpStatus.CREATED : rejected ? HttpStatus.BAD_REQUEST : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(body);
+    }
+
+
+    /** Expands a recurring booking server-side; 201 when every occurrence was booked, otherwise per-occurrence results. */
+    @PostMapping("/series")
+    public ResponseEntity<SeriesReservationResponse> createSeries(Authentication auth, @RequestBody RecurringReservationRequest req) {
+        logger.info("Creating reservation series for user={}, resourceId={}, startTime={}, frequency={}, interval={}, count={}, until={}, skipConflicts={}", auth.getName(), req.getResourceId(), req.getStartTime(), req.getFrequency(), req.getInterval(), req.getCount(), req.getUntil(), req.isSkipConflicts());
+
+        Long userId = auth.getPrincipal() instanceof AuthenticatedUser user ? user.getId() : null;
+        SeriesReservationResponse body = service.createSeries(auth.getName(), userId, req);
+        HttpStatus status = body.getConflicts() == 0 ? HttpStatus.CREATED : req.isSkipConflicts() ? HttpStatus.MULTI_STATUS : HttpStatus.BAD_REQUEST;
+        return ResponseEntity.status(status).body(body);
+    }
 
     @PutMapping("/{id}")
     public ResponseEntity<ReservationResponse> update(Authentication auth, @PathVariable Long id, @RequestBody ReservationRequest req) {
@@ -79,7 +244,8 @@ public class ReservationController {
     }
 
     // ===== Helper Methods =====
-    private ReservationResponse toDto(Reservation r) {
+    // package-private and static so the mapping benchmark can call it without a controller instance
+    static ReservationResponse toDto(Reservation r) {
         ReservationResponse d = new ReservationResponse();
         d.setId(r.getId());
         d.setResourceId(r.getResource().getId());
@@ -92,9 +258,28 @@ public class ReservationController {
         d.setEndTime(r.getEndTime());
         d.setCreatedAt(r.getCreatedAt());
         d.setUpdatedAt(r.getUpdatedAt());
+        d.setVersion(r.getVersion());
         return d;
     }
 
+    private static void writeCsvRow(Writer writer, ReservationResponse r) throws IOException {
+        Object[] values = {r.getId(), r.getResourceId(), r.getResourceName(), r.getUserId(), r.getUsername(), r.getStatus(),
+                r.getPrice(), r.getStartTime(), r.getEndTime(), r.getCreatedAt(), r.getUpdatedAt()};
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) writer.write(',');
+            if (values[i] != null) writer.write(csvField(values[i].toString()));
+        }
+        writer.write("\r\n");
+    }
+
+    /** RFC 4180 quoting: fields with a comma, quote or line break are quoted, with quotes doubled. */
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
     private boolean isAdmin(Authentication auth) {
         return auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch(a -> a.equals("ROLE_ADMIN"));
     }
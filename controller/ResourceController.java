@@ -1,19 +1,29 @@
 package com.example.booking.controller;
 
+import com.example.booking.dto.CacheStats;
 import com.example.booking.dto.ResourceDto;
 import com.example.booking.model.ResourceEntity;
 import com.example.booking.response.ResourceResponse;
+import com.example.booking.service.AvailabilityService;
 import com.example.booking.service.ResourceService;
+import com.example.booking.service.ResourceSnapshot;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/resources")
@@ -23,16 +33,76 @@ public class ResourceController {
     private static final Logger log = LoggerFactory.getLogger(ResourceController.class);
     @Autowired
     private ResourceService service;
+    @Autowired
+    private AvailabilityService availabilityService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
 
     @GetMapping
-    public List<ResourceDto> list() {
-        return service.list().stream().map(this::toDto).collect(Collectors.toList());
+    public ResponseEntity<byte[]> list(WebRequest request) {
+        // the catalog is serialized once per cache fill, not once per request
+        var catalog = service.catalog();
+        if (request.checkNotModified(catalog.getEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(catalog.getEtag()).contentType(MediaType.APPLICATION_JSON).body(catalog.getJson());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache/stats")
+    public List<CacheStats> cacheStats() {
+        return service.cacheStats();
+    }
+
+    /** Room finder: active resources of a type and minimum capacity that are free for [start, end). */
+    @GetMapping("/search")
+    public Page<ResourceDto> search(@RequestParam(required = false) String type, @RequestParam(required = false) Integer minCapacity,
+                                    @RequestParam String start, @RequestParam String end,
+                                    @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
+        return availabilityService.findFreeResources(type, minCapacity, start, end, page, size);
     }
 
     @GetMapping("/{id}")
-    public ResourceDto get(@PathVariable Long id) {
-        return toDto(service.get(id));
+    public ResponseEntity<ResourceDto> get(@PathVariable Long id, WebRequest request) {
+        ResourceSnapshot r = service.get(id);
+        String etag = ETags.resource(r);
+        if (etag == null) {
+            return ResponseEntity.ok(r.toDto());
+        }
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(r.toDto());
+    }
+
+    /**
+     * Free windows of at least {@code duration} (ISO-8601, e.g. PT30M) in [from, to), streamed as a JSON array.
+     * With {@code step}, window starts are aligned to {@code from + k * step}.
+     */
+    @GetMapping(value = "/{id}/availability", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> availability(@PathVariable Long id, @RequestParam String from, @RequestParam String to,
+                                                              @RequestParam String duration, @RequestParam(required = false) String step) {
+        service.get(id); // 404 for unknown resources, before the response is committed
+        var query = availabilityService.query(id, from, to, duration, step);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.writeStartArray();
+                availabilityService.forEachFreeWindow(query, window -> {
+                    try {
+                        json.writeStartObject();
+                        json.writeStringField("start", window.getStart().toString());
+                        json.writeStringField("end", window.getEnd().toString());
+                        json.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                json.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @PreAuthorize("hasRole('ADMIN')")
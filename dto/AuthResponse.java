@@ -2,8 +2,15 @@ package com.example.booking.dto;
 
 public class AuthResponse {
     private String token;
+    private String refreshToken;
+    private long expiresIn; // access token lifetime in seconds
     public AuthResponse(){}
     public AuthResponse(String token){ this.token = token; }
+    public AuthResponse(String token, String refreshToken, long expiresIn){ this.token = token; this.refreshToken = refreshToken; this.expiresIn = expiresIn; }
     public String getToken(){ return token; }
     public void setToken(String token){ this.token = token; }
+    public String getRefreshToken(){ return refreshToken; }
+    public void setRefreshToken(String refreshToken){ this.refreshToken = refreshToken; }
+    public long getExpiresIn(){ return expiresIn; }
+    public void setExpiresIn(long expiresIn){ this.expiresIn = expiresIn; }
 }
@@ -0,0 +1,40 @@
+package com.example.booking.dto;
+
+public class BatchItemResult {
+    private int index;
+    private String outcome; // CREATED, FAILED, or NOT_CREATED when an atomic batch is rejected
+    private ReservationResponse reservation;
+    private String error;
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public ReservationResponse getReservation() {
+        return reservation;
+    }
+
+    public void setReservation(ReservationResponse reservation) {
+        this.reservation = reservation;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
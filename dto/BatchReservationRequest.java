@@ -0,0 +1,25 @@
+package com.example.booking.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchReservationRequest {
+    private List<ReservationRequest> items = new ArrayList<>();
+    private boolean atomic; // all-or-nothing: any failing item rejects the whole batch
+
+    public List<ReservationRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ReservationRequest> items) {
+        this.items = items;
+    }
+
+    public boolean isAtomic() {
+        return atomic;
+    }
+
+    public void setAtomic(boolean atomic) {
+        this.atomic = atomic;
+    }
+}
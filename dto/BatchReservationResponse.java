@@ -0,0 +1,33 @@
+package com.example.booking.dto;
+
+import java.util.List;
+
+public class BatchReservationResponse {
+    private int created;
+    private int failed;
+    private List<BatchItemResult> results;
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.booking.dto;
+
+import java.time.Instant;
+
+public class BookingTicket {
+    private String ticketId;
+    private String status; // QUEUED, CREATED or FAILED
+    private ReservationResponse reservation;
+    private String error;
+    private Instant queuedAt;
+    private Instant completedAt;
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public void setTicketId(String ticketId) {
+        this.ticketId = ticketId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public ReservationResponse getReservation() {
+        return reservation;
+    }
+
+    public void setReservation(ReservationResponse reservation) {
+        this.reservation = reservation;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Instant getQueuedAt() {
+        return queuedAt;
+    }
+
+    public void setQueuedAt(Instant queuedAt) {
+        this.queuedAt = queuedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+}
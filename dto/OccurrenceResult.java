@@ -0,0 +1,68 @@
+package com.example.booking.dto;
+
+import java.time.Instant;
+
+public class OccurrenceResult {
+    private int index;
+    private Instant startTime;
+    private Instant endTime;
+    private String outcome; // CREATED, CONFLICT, or NOT_CREATED when a conflict rejected the series
+    private ReservationResponse reservation;
+    private String error;
+
+    public OccurrenceResult() {}
+
+    public OccurrenceResult(int index, Instant startTime, Instant endTime) {
+        this.index = index;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(Instant endTime) {
+        this.endTime = endTime;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public ReservationResponse getReservation() {
+        return reservation;
+    }
+
+    public void setReservation(ReservationResponse reservation) {
+        this.reservation = reservation;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.booking.dto;
+
+import java.math.BigDecimal;
+
+public class RecurringReservationRequest {
+    private Long resourceId;
+    private BigDecimal price; // per occurrence
+    private String startTime; // first occurrence, ISO-8601
+    private String endTime;
+    private String status; // optional, ADMIN can set, default PENDING
+    private String frequency; // DAILY, WEEKLY or MONTHLY
+    private Integer interval; // every n days/weeks/months, default 1
+    private Integer count; // either count or until
+    private String until; // ISO-8601; the last occurrence starts at or before it
+    private String zone; // keeps the wall-clock start time across DST changes, default UTC
+    private boolean skipConflicts; // book the free occurrences instead of rejecting the series
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public String getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(String startTime) {
+        this.startTime = startTime;
+    }
+
+    public String getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(String endTime) {
+        this.endTime = endTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(String frequency) {
+        this.frequency = frequency;
+    }
+
+    public Integer getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Integer interval) {
+        this.interval = interval;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public String getUntil() {
+        return until;
+    }
+
+    public void setUntil(String until) {
+        this.until = until;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public boolean isSkipConflicts() {
+        return skipConflicts;
+    }
+
+    public void setSkipConflicts(boolean skipConflicts) {
+        this.skipConflicts = skipConflicts;
+    }
+}
@@ -8,6 +8,7 @@ public class ReservationRequest {
     private String startTime; // ISO-8601 string - parse to Instant in service
     private String endTime;
     private String status; // optional, ADMIN can set, default PENDING
+    private Long version; // optional on updates: the version last read; a stale one is rejected with 409
 
     public Long getResourceId() {
         return resourceId;
@@ -48,4 +49,12 @@ public class ReservationRequest {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -1,5 +1,7 @@
 package com.example.booking.dto;
 
+import com.example.booking.model.ReservationStatus;
+
 import java.math.BigDecimal;
 import java.time.Instant;
 
@@ -15,7 +17,27 @@ public class ReservationResponse {
     private Instant endTime;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
 
+    public ReservationResponse() {}
+
+    // used by the constructor projection in ReservationRepositoryImpl
+    public ReservationResponse(Long id, Long resourceId, String resourceName, Long userId, String username,
+                               ReservationStatus status, BigDecimal price, Instant startTime, Instant endTime,
+                               Instant createdAt, Instant updatedAt, Long version) {
+        this.id = id;
+        this.resourceId = resourceId;
+        this.resourceName = resourceName;
+        this.userId = userId;
+        this.username = username;
+        this.status = status == null ? null : status.name();
+        this.price = price;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
 
     public Long getId() {
         return id;
@@ -104,4 +126,12 @@ public class ReservationResponse {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,41 @@
+package com.example.booking.dto;
+
+import java.math.BigDecimal;
+
+public class RevenueByStatus {
+    private String status;
+    private BigDecimal revenue;
+    private long reservations;
+
+    public RevenueByStatus() {}
+
+    public RevenueByStatus(String status, BigDecimal revenue, long reservations) {
+        this.status = status;
+        this.revenue = revenue;
+        this.reservations = reservations;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(long reservations) {
+        this.reservations = reservations;
+    }
+}
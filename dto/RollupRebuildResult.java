@@ -0,0 +1,39 @@
+package com.example.booking.dto;
+
+public class RollupRebuildResult {
+    private int resources;
+    private int chunks;
+    private long durationMs;
+
+    public RollupRebuildResult() {}
+
+    public RollupRebuildResult(int resources, int chunks, long durationMs) {
+        this.resources = resources;
+        this.chunks = chunks;
+        this.durationMs = durationMs;
+    }
+
+    public int getResources() {
+        return resources;
+    }
+
+    public void setResources(int resources) {
+        this.resources = resources;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(int chunks) {
+        this.chunks = chunks;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
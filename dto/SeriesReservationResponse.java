@@ -0,0 +1,42 @@
+package com.example.booking.dto;
+
+import java.util.List;
+
+public class SeriesReservationResponse {
+    private String seriesId; // null when nothing was created
+    private int created;
+    private int conflicts;
+    private List<OccurrenceResult> results;
+
+    public String getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(String seriesId) {
+        this.seriesId = seriesId;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(int conflicts) {
+        this.conflicts = conflicts;
+    }
+
+    public List<OccurrenceResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<OccurrenceResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.booking.dto;
+
+import java.time.Instant;
+
+public class TimeWindow {
+    private Instant start;
+    private Instant end;
+
+    public TimeWindow() {}
+
+    public TimeWindow(Instant start, Instant end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public void setStart(Instant start) {
+        this.start = start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+
+    public void setEnd(Instant end) {
+        this.end = end;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.booking.dto;
+
+import java.time.LocalDate;
+
+/** Booked versus available minutes of one resource on one day; available time scales with capacity. */
+public class UtilizationDay {
+    private LocalDate day;
+    private long bookedMinutes;
+    private long availableMinutes;
+    private double utilization;
+
+    public UtilizationDay() {}
+
+    public UtilizationDay(LocalDate day, long bookedMinutes, long availableMinutes, double utilization) {
+        this.day = day;
+        this.bookedMinutes = bookedMinutes;
+        this.availableMinutes = availableMinutes;
+        this.utilization = utilization;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getBookedMinutes() {
+        return bookedMinutes;
+    }
+
+    public void setBookedMinutes(long bookedMinutes) {
+        this.bookedMinutes = bookedMinutes;
+    }
+
+    public long getAvailableMinutes() {
+        return availableMinutes;
+    }
+
+    public void setAvailableMinutes(long availableMinutes) {
+        this.availableMinutes = availableMinutes;
+    }
+
+    public double getUtilization() {
+        return utilization;
+    }
+
+    public void setUtilization(double utilization) {
+        this.utilization = utilization;
+    }
+}
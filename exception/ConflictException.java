@@ -0,0 +1,15 @@
+package com.example.booking.exception;
+
+/** The client's copy is out of date; {@code currentVersion} is the version it should re-read and retry from. */
+public class ConflictException extends RuntimeException {
+    private final Long currentVersion;
+
+    public ConflictException(String msg, Long currentVersion) {
+        super(msg);
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.booking.exception;
 
 import org.springframework.http.*;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.time.format.DateTimeParseException;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -17,11 +20,34 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiException(ex.getMessage()));
     }
 
+    @ExceptionHandler(DateTimeParseException.class)
+    public ResponseEntity<ApiException> handleBadDateTime(DateTimeParseException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiException("Invalid date/time or duration: " + ex.getParsedString()));
+    }
+
     @ExceptionHandler(SecurityException.class)
     public ResponseEntity<ApiException> handleForbidden(SecurityException ex) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiException(ex.getMessage()));
     }
 
+    // @PreAuthorize denials; without this they would fall through to the catch-all as 500
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ApiException> handleAccessDenied(AccessDeniedException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(new ApiException(ex.getMessage()));
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<VersionConflict> handleConflict(ConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new VersionConflict(ex.getMessage(), ex.getCurrentVersion()));
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiException> handleOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ApiException(ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ApiException> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ApiException("Invalid parameter: " + ex.getName()));
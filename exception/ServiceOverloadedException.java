@@ -0,0 +1,15 @@
+package com.example.booking.exception;
+
+/** A bounded resource is saturated; the client should retry after {@code retryAfterSeconds}. */
+public class ServiceOverloadedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String msg, long retryAfterSeconds) {
+        super(msg);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.booking.exception;
+
+public class VersionConflict extends ApiException {
+    private Long currentVersion;
+    public VersionConflict(){}
+    public VersionConflict(String message, Long currentVersion){ super(message); this.currentVersion = currentVersion; }
+    public Long getCurrentVersion(){ return currentVersion; }
+    public void setCurrentVersion(Long currentVersion){ this.currentVersion = currentVersion; }
+}
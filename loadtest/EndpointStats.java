@@ -0,0 +1,66 @@
+package com.example.booking.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcome counters for one operation. Latency runs from the request's intended start time, so a
+ * stalled server shows up as latency instead of silently lowering the offered rate (no coordinated omission).
+ */
+final class EndpointStats {
+    private static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder errors = new LongAdder();
+    private Histogram measured;
+    private long measuredErrors;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void success(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+    }
+
+    void failure(long latencyNanos) {
+        errors.increment();
+        success(latencyNanos);
+    }
+
+    /** Discards everything recorded so far; called at the end of the warmup. */
+    void reset() {
+        recorder.getIntervalHistogram();
+        errors.reset();
+    }
+
+    /** Freezes the measurement window. */
+    void finish() {
+        measured = recorder.getIntervalHistogram();
+        measuredErrors = errors.sumThenReset();
+    }
+
+    long count() {
+        return measured.getTotalCount();
+    }
+
+    long errors() {
+        return measuredErrors;
+    }
+
+    double percentileMillis(double percentile) {
+        return measured.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    double maxMillis() {
+        return measured.getMaxValue() / 1_000_000.0;
+    }
+}
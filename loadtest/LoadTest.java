@@ -0,0 +1,154 @@
+package com.example.booking.loadtest;
+
+import com.example.booking.BookingSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator. Requests arrive at {@code load.rate} per second (Poisson or evenly spaced)
+ * whether or not earlier ones have completed, which is how independent clients behave; a slow server
+ * therefore builds up in-flight requests and latency instead of throttling the generator.
+ *
+ * Without {@code load.target} the application is started in-process on an in-memory H2 database.
+ * Settings are system properties, e.g.
+ * {@code -Dload.rate=300 -Dload.duration-s=60 -Dload.mix=login:5,listResources:30,createReservation:25,...}
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "200"));
+        long warmupSeconds = Long.parseLong(System.getProperty("load.warmup-s", "10"));
+        long durationSeconds = Long.parseLong(System.getProperty("load.duration-s", "60"));
+        boolean poisson = !"uniform".equalsIgnoreCase(System.getProperty("load.arrivals", "poisson"));
+        int maxInFlight = Integer.parseInt(System.getProperty("load.max-in-flight", "10000"));
+        Map<String, Integer> mix = parseMix(System.getProperty("load.mix",
+                "login:5,listResources:30,createReservation:25,listMyReservations:25,updateReservation:10,cancelReservation:5"));
+
+        ConfigurableApplicationContext app = null;
+        String target = System.getProperty("load.target");
+        if (target == null) {
+            app = startEmbedded();
+            target = "http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+        }
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newCachedThreadPool())
+                .build();
+        Scenario scenario = new Scenario(http, target, Duration.ofSeconds(30));
+        scenario.setUp(Integer.getInteger("load.users", 50), Integer.getInteger("load.resources", 20));
+
+        System.out.printf("Offering %.0f req/s (%s arrivals) to %s: %ds warmup, %ds measured%n",
+                rate, poisson ? "poisson" : "uniform", target, warmupSeconds, durationSeconds);
+        AtomicInteger inFlight = new AtomicInteger();
+        long dropped = 0;
+        List<String> ops = new ArrayList<>(mix.keySet());
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        boolean measuring = false;
+        double next = start;
+        while (next < end) {
+            long intended = (long) next;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) LockSupport.parkNanos(wait);
+            if (!measuring && intended >= measureFrom) {
+                scenario.stats().values().forEach(EndpointStats::reset);
+                dropped = 0;
+                measuring = true;
+            }
+            if (inFlight.get() >= maxInFlight) {
+                dropped++;
+            } else {
+                inFlight.incrementAndGet();
+                scenario.fire(pick(ops, mix, totalWeight), intended).whenComplete((r, e) -> inFlight.decrementAndGet());
+            }
+            next += poisson ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos : meanGapNanos;
+        }
+        // let outstanding requests finish so their latency is counted
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        // throughput is per offered window; requests drained afterwards still count toward it
+        long measuredNanos = end - measureFrom;
+        scenario.stats().values().forEach(EndpointStats::finish);
+
+        report(scenario.stats(), measuredNanos, dropped);
+        if (app != null) app.close();
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startEmbedded() {
+        Map<String, Object> props = new HashMap<>();
+        props.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+        props.put("spring.datasource.username", "sa");
+        props.put("spring.datasource.password", "");
+        props.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        props.put("spring.jpa.show-sql", "false");
+        props.put("server.port", "0");
+        props.put("logging.level.root", "WARN");
+        props.put("jwt.secret", System.getProperty("jwt.secret", "loadtest-secret-loadtest-secret-loadtest-secret"));
+        // any other -Dbooking.* / -Dspring.* flags reach the application through system properties as usual
+        return new SpringApplicationBuilder(BookingSystemApplication.class).properties(props).run();
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) mix.put(kv[0].trim(), weight);
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix must give at least one operation a positive weight");
+        }
+        return mix;
+    }
+
+    private static String pick(List<String> ops, Map<String, Integer> mix, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (String op : ops) {
+            roll -= mix.get(op);
+            if (roll < 0) return op;
+        }
+        return ops.get(ops.size() - 1);
+    }
+
+    private static void report(Map<String, EndpointStats> stats, long measuredNanos, long dropped) {
+        double seconds = measuredNanos / 1e9;
+        System.out.printf("%n%-20s %9s %7s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0, errors = 0;
+        for (EndpointStats s : stats.values()) {
+            if (s.count() == 0) continue;
+            total += s.count();
+            errors += s.errors();
+            System.out.printf("%-20s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", s.name(), s.count(), s.errors(), s.count() / seconds,
+                    s.percentileMillis(50), s.percentileMillis(99), s.percentileMillis(99.9), s.maxMillis());
+        }
+        System.out.printf("%-20s %9d %7d %9.1f%n", "total", total, errors, total / seconds);
+        if (dropped > 0) {
+            System.out.printf("%d arrivals dropped at the in-flight limit; the server could not keep up with the offered rate%n", dropped);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.booking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The request mix: login, list resources, create, list own reservations, update and cancel.
+ *
+ * Setup registers users, logs them in and creates resources with the seeded admin, outside the measurement.
+ * Created reservations are remembered with their owner's token so updates and cancels act on real rows;
+ * new bookings get distinct hour slots so they are not rejected by the capacity check.
+ */
+final class Scenario {
+    static final String LOGIN = "login";
+    static final String LIST_RESOURCES = "listResources";
+    static final String CREATE = "createReservation";
+    static final String LIST_MINE = "listMyReservations";
+    static final String UPDATE = "updateReservation";
+    static final String CANCEL = "cancelReservation";
+
+    private static final String PASSWORD = "loadtest-pass";
+    private static final Instant SLOT_ORIGIN = Instant.now().truncatedTo(ChronoUnit.HOURS).plus(Duration.ofDays(30));
+
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final String baseUrl;
+    private final Duration timeout;
+    private final List<String> usernames = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Long> resourceIds = new ArrayList<>();
+    private final ConcurrentLinkedDeque<Owned> reservations = new ConcurrentLinkedDeque<>();
+    private final AtomicLong slots = new AtomicLong();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    private static final class Owned {
+        final String token;
+        final long id;
+
+        Owned(String token, long id) {
+            this.token = token;
+            this.id = id;
+        }
+    }
+
+    Scenario(HttpClient http, String baseUrl, Duration timeout) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        for (String op : List.of(LOGIN, LIST_RESOURCES, CREATE, LIST_MINE, UPDATE, CANCEL)) {
+            stats.put(op, new EndpointStats(op));
+        }
+    }
+
+    Map<String, EndpointStats> stats() {
+        return stats;
+    }
+
+    void setUp(int users, int resources) throws IOException, InterruptedException {
+        String admin = login("admin", "admin123");
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < resources; i++) {
+            Map<String, Object> body = Map.of("name", "Load room " + run + "-" + i, "type", "Room", "capacity", 1 + i % 12, "active", true);
+            checked(http.send(post("/resources/create", admin, body), HttpResponse.BodyHandlers.ofString()));
+        }
+        HttpResponse<String> list = checked(http.send(get("/resources", admin), HttpResponse.BodyHandlers.ofString()));
+        for (JsonNode r : json.readTree(list.body())) {
+            resourceIds.add(r.get("id").asLong());
+        }
+        if (resourceIds.isEmpty()) {
+            throw new IllegalStateException("No resources to book after setup");
+        }
+        for (int i = 0; i < users; i++) {
+            String username = "load-" + run + "-" + i;
+            checked(http.send(post("/api/auth/register", null, Map.of("username", username, "password", PASSWORD)),
+                    HttpResponse.BodyHandlers.ofString()));
+            usernames.add(username);
+            tokens.add(login(username, PASSWORD));
+        }
+    }
+
+    /** Fires one operation asynchronously; its latency is measured from {@code intendedStartNanos}. */
+    CompletableFuture<?> fire(String op, long intendedStartNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int user = random.nextInt(tokens.size());
+        String token = tokens.get(user);
+        switch (op) {
+            case LOGIN:
+                return send(op, post("/api/auth/login", null, Map.of("username", usernames.get(user), "password", PASSWORD)), intendedStartNanos);
+            case LIST_RESOURCES:
+                return send(op, get("/resources", token), intendedStartNanos);
+            case LIST_MINE:
+                return send(op, get("/reservations?page=0&size=20", token), intendedStartNanos);
+            case UPDATE: {
+                Owned target = reservations.peekLast();
+                if (target == null) return fire(CREATE, intendedStartNanos);
+                Map<String, Object> body = Map.of("price", 50 + random.nextInt(100));
+                return send(op, request("/reservations/" + target.id, target.token).PUT(jsonBody(body)).build(), intendedStartNanos);
+            }
+            case CANCEL: {
+                Owned target = reservations.pollFirst();
+                if (target == null) return fire(CREATE, intendedStartNanos);
+                return send(op, request("/reservations/" + target.id, target.token).DELETE().build(), intendedStartNanos);
+            }
+            default: {
+                long slot = slots.getAndIncrement();
+                Long resourceId = resourceIds.get((int) (slot % resourceIds.size()));
+                Instant start = SLOT_ORIGIN.plus(Duration.ofHours(slot / resourceIds.size()));
+                Map<String, Object> body = Map.of("resourceId", resourceId, "price", 100,
+                        "startTime", start.toString(), "endTime", start.plus(Duration.ofHours(1)).toString(), "status", "CONFIRMED");
+                return send(CREATE, post("/reservations", token, body), intendedStartNanos).thenAccept(response -> {
+                    if (response != null && response.statusCode() == 201) {
+                        remember(token, response.body());
+                    }
+                });
+            }
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(String op, HttpRequest request, long intendedStartNanos) {
+        EndpointStats endpoint = stats.get(op);
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).handle((response, error) -> {
+            long latency = System.nanoTime() - intendedStartNanos;
+            if (error == null && response.statusCode() < 400) {
+                endpoint.success(latency);
+                return response;
+            }
+            endpoint.failure(latency);
+            return null;
+        });
+    }
+
+    private void remember(String token, String body) {
+        try {
+            reservations.addLast(new Owned(token, json.readTree(body).get("id").asLong()));
+        } catch (IOException e) {
+            // an unparseable body was still a successful create; it just cannot be updated or cancelled later
+        }
+    }
+
+    private String login(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = checked(http.send(post("/api/auth/login", null, Map.of("username", username, "password", password)),
+                HttpResponse.BodyHandlers.ofString()));
+        return json.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        return request(path, token).POST(jsonBody(body)).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.BodyPublisher jsonBody(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Setup must fully succeed: a run against missing resources or users would only measure errors. */
+    private static HttpResponse<String> checked(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Setup request " + response.request().uri() + " failed with " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.booking.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Index creation for the migrations. Plain {@code CREATE INDEX} works on H2, PostgreSQL and MySQL alike; MySQL has
+ * no {@code IF NOT EXISTS}, so indexes already created by hand are detected through the JDBC metadata and skipped.
+ */
+final class Indexes {
+
+    private Indexes() {
+    }
+
+    static void create(Connection connection, String name, String table, String columns) throws SQLException {
+        if (exists(connection, name, table)) return;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX " + name + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    private static boolean exists(Connection connection, String name, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String storedTable = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), storedTable, false, true)) {
+            while (indexes.next()) {
+                if (name.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) return true;
+            }
+        }
+        return false;
+    }
+}
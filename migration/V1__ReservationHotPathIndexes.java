@@ -0,0 +1,32 @@
+package com.example.booking.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Composite indexes for the two hot reservation queries.
+ *
+ * <ul>
+ *   <li>{@code idx_reservation_overlap}: the overlap and capacity checks filter on resource and status and
+ *   range-scan {@code start_time}; {@code end_time} is filtered inside the index.</li>
+ *   <li>{@code idx_reservation_user_created}: a user's list resolves the username to {@code user_id} through the
+ *   unique username index, then reads this index in {@code (createdAt, id)} order, the default sort and the
+ *   keyset cursor's tie-break, without a sort step.</li>
+ *   <li>{@code idx_reservation_created}: the same ordering for the admin list, which has no user filter.</li>
+ * </ul>
+ */
+@Component
+public class V1__ReservationHotPathIndexes extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        Indexes.create(connection, "idx_reservation_overlap", "reservations", "resource_id, status, start_time, end_time");
+        Indexes.create(connection, "idx_reservation_user_created", "reservations", "user_id, created_at, id");
+        Indexes.create(connection, "idx_reservation_created", "reservations", "created_at, id");
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.booking.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * {@code idx_reservation_end} lets the archiver find reservations past the horizon without scanning the hot table;
+ * the archive gets the list indexes of {@link V1__ReservationHotPathIndexes}, for {@code includeArchived} listings.
+ */
+@Component
+public class V2__ReservationArchiveIndexes extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        Indexes.create(connection, "idx_reservation_end", "reservations", "end_time");
+        Indexes.create(connection, "idx_reservation_archive_user_created", "reservations_archive", "user_id, created_at, id");
+        Indexes.create(connection, "idx_reservation_archive_created", "reservations_archive", "created_at, id");
+    }
+}
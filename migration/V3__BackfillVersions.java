@@ -0,0 +1,24 @@
+package com.example.booking.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * {@code ddl-auto} adds {@code reservations.version} as nullable and leaves existing rows at NULL, which Hibernate
+ * cannot compare or increment. Rows written before the column existed start at version 0. ({@code resources.version}
+ * has a column default and needs no backfill.)
+ */
+@Component
+public class V3__BackfillVersions extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.executeUpdate("UPDATE reservations SET version = 0 WHERE version IS NULL");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.booking.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Reservation ids used to come from an identity column; {@code ddl-auto} creates {@code reservation_seq} starting
+ * at 1, so on an existing database the pooled generator would hand out ids that are already taken. The sequence is
+ * moved past the highest id in {@code reservations} and {@code reservations_archive}, leaving room for the
+ * allocation block below the first value the generator reads.
+ */
+@Component
+public class V4__ReservationSequenceAboveExistingIds extends BaseJavaMigration {
+
+    // matches @SequenceGenerator(allocationSize) on Reservation
+    private static final long ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        long maxId = maxId(connection);
+        if (maxId == 0) return;
+        // the pooled optimizer uses (value - allocationSize, value], so the next value must clear maxId by a block
+        long next = maxId + ALLOCATION_SIZE + 1;
+        String product = connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+        try (Statement statement = connection.createStatement()) {
+            if (product.contains("postgres")) {
+                statement.execute("SELECT setval('reservation_seq', " + (next - 1) + ")");
+            } else if (product.contains("mysql") || product.contains("mariadb")) {
+                // Hibernate emulates the sequence with a one-row table there
+                statement.executeUpdate("UPDATE reservation_seq SET next_val = " + next);
+            } else {
+                statement.execute("ALTER SEQUENCE reservation_seq RESTART WITH " + next);
+            }
+        }
+    }
+
+    private static long maxId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT GREATEST(COALESCE((SELECT MAX(id) FROM reservations), 0), "
+                     + "COALESCE((SELECT MAX(id) FROM reservations_archive), 0))")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
@@ -7,14 +7,17 @@ import java.time.Instant;
 @Entity
 @Table(name = "reservations")
 public class Reservation {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence rather than IDENTITY so Hibernate can batch inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_seq")
+    @SequenceGenerator(name = "reservation_seq", sequenceName = "reservation_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "resource_id")
     private ResourceEntity resource;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
@@ -27,9 +30,17 @@ public class Reservation {
     private Instant startTime;
     private Instant endTime;
 
+    // shared by the occurrences of one recurring booking; null for single bookings
+    @Column(length = 36)
+    private String seriesId;
+
     private Instant createdAt;
     private Instant updatedAt;
 
+    // optimistic concurrency: an update from a stale copy fails instead of overwriting a newer one
+    @Version
+    private Long version;
+
     @PrePersist
     public void prePersist() {
         this.createdAt = Instant.now();
@@ -97,6 +108,14 @@ public class Reservation {
         this.endTime = endTime;
     }
 
+    public String getSeriesId() {
+        return seriesId;
+    }
+
+    public void setSeriesId(String seriesId) {
+        this.seriesId = seriesId;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -112,4 +131,12 @@ public class Reservation {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,96 @@
+package com.example.booking.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Per-resource, per-day, per-status totals, kept in step with the reservations table by the service layer.
+ * A reservation's time is split across the days it covers; its price and count go to the day it starts.
+ */
+@Entity
+@Table(name = "reservation_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_rollup_resource_day_status", columnNames = {"resource_id", "day", "status"}),
+        indexes = @Index(name = "idx_rollup_day", columnList = "day"))
+public class ReservationRollup {
+    // pooled sequence so a rebuild's inserts can be batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_rollup_seq")
+    @SequenceGenerator(name = "reservation_rollup_seq", sequenceName = "reservation_rollup_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    @Column(nullable = false)
+    private long bookedSeconds;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private long reservations;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public void setResourceId(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public long getBookedSeconds() {
+        return bookedSeconds;
+    }
+
+    public void setBookedSeconds(long bookedSeconds) {
+        this.bookedSeconds = bookedSeconds;
+    }
+
+    public BigDecimal getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(BigDecimal revenue) {
+        this.revenue = revenue;
+    }
+
+    public long getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(long reservations) {
+        this.reservations = reservations;
+    }
+}
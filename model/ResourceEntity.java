@@ -20,6 +20,16 @@ public class ResourceEntity {
 
     private boolean active = true;
 
+    // bumped on every update; feeds the resource ETag. The column default fills rows that predate the column:
+    // a NULL version would make save() treat an existing resource as new.
+    @Version
+    @Column(columnDefinition = "bigint default 0 not null")
+    private Long version;
+
+    // bumped under the row lock by every write that changes CONFIRMED bookings; an availability index that last saw
+    // another value has missed bookings made through another instance
+    @Column(columnDefinition = "bigint default 0 not null")
+    private long bookingVersion;
 
 
     public Long getId() {
@@ -69,4 +79,20 @@ public class ResourceEntity {
     public void setActive(boolean active) {
         this.active = active;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public long getBookingVersion() {
+        return bookingVersion;
+    }
+
+    public void setBookingVersion(long bookingVersion) {
+        this.bookingVersion = bookingVersion;
+    }
 }
@@ -20,8 +20,8 @@ public class User {
 
     private boolean enabled = true;
 
-    // ✅ Store roles as a Set of Enum values
-    @ElementCollection(fetch = FetchType.EAGER)
+    // ✅ Store roles as a Set of Enum values (fetched via the entity graph on UserRepository.findByUsername)
+    @ElementCollection(fetch = FetchType.LAZY)
     @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
     @Enumerated(EnumType.STRING)
     @Column(name = "role")
@@ -0,0 +1,25 @@
+package com.example.booking.repository;
+
+import com.example.booking.model.ArchivedReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface ArchivedReservationRepository extends JpaRepository<ArchivedReservation, Long> {
+
+    /** Copies the given reservations row for row, inside the database. */
+    @Modifying
+    @Query(value = "insert into reservations_archive (id, resource_id, user_id, status, price, start_time, end_time, series_id, created_at, updated_at, version, archived_at) " +
+            "select id, resource_id, user_id, status, price, start_time, end_time, series_id, created_at, updated_at, version, :archivedAt " +
+            "from reservations where id in (:ids)", nativeQuery = true)
+    int copyFromReservations(@Param("ids") Collection<Long> ids, @Param("archivedAt") Instant archivedAt);
+
+    @Query("select r.resource.id as resourceId, r.status as status, r.price as price, r.startTime as startTime, r.endTime as endTime " +
+            "from ArchivedReservation r where r.resource.id in :resourceIds")
+    Stream<ReservationFigures> streamFiguresByResourceIds(@Param("resourceIds") Collection<Long> resourceIds);
+}
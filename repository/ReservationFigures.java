@@ -0,0 +1,15 @@
+package com.example.booking.repository;
+
+import com.example.booking.model.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/** The fields of a reservation that feed the daily rollups. */
+public interface ReservationFigures {
+    Long getResourceId();
+    ReservationStatus getStatus();
+    BigDecimal getPrice();
+    Instant getStartTime();
+    Instant getEndTime();
+}
@@ -0,0 +1,14 @@
+package com.example.booking.repository;
+
+import java.time.Instant;
+
+/**
+ * Lightweight projection of a reservation's time range, used where only the
+ * interval matters and hydrating full {@code Reservation} entities is wasteful.
+ */
+public interface ReservationInterval {
+    Long getId();
+    Long getResourceId();
+    Instant getStartTime();
+    Instant getEndTime();
+}
@@ -2,20 +2,70 @@ package com.example.booking.repository;
 
 import com.example.booking.model.Reservation;
 import com.example.booking.model.ReservationStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ReservationRepository extends JpaRepository<Reservation, Long>,
-        JpaSpecificationExecutor<Reservation> {
+        JpaSpecificationExecutor<Reservation>, ReservationRepositoryCustom {
 
-    @Query("select r from Reservation r where r.resource.id = :resourceId and r.status = :status and r.startTime < :end and r.endTime > :start")
-    List<Reservation> findOverlappingReservations(@Param("resourceId") Long resourceId,
-                                                  @Param("status") ReservationStatus status,
-                                                  @Param("start") Instant start,
-                                                  @Param("end") Instant end);
+    @EntityGraph(attributePaths = {"resource", "user"})
+    Optional<Reservation> findWithResourceAndUserById(Long id);
+
+    @Query("select r.resource.id from Reservation r where r.id = :id")
+    Optional<Long> findResourceIdById(@Param("id") Long id);
+
+    @Query("select r.version from Reservation r where r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select r.updatedAt as updatedAt, u.username as username from Reservation r join r.user u where r.id = :id")
+    Optional<ReservationStamp> findStampById(@Param("id") Long id);
+
+    @Query("select r.id as id, r.resource.id as resourceId, r.startTime as startTime, r.endTime as endTime from Reservation r " +
+            "where r.resource.id = :resourceId and r.status = :status and r.startTime < :end and r.endTime > :start order by r.startTime")
+    Stream<ReservationInterval> streamIntervalsOverlapping(@Param("resourceId") Long resourceId,
+                                                           @Param("status") ReservationStatus status,
+                                                           @Param("start") Instant start,
+                                                           @Param("end") Instant end);
+
+    @Query("select r.resource.id as resourceId, r.status as status, r.price as price, r.startTime as startTime, r.endTime as endTime " +
+            "from Reservation r where r.resource.id in :resourceIds")
+    Stream<ReservationFigures> streamFiguresByResourceIds(@Param("resourceIds") Collection<Long> resourceIds);
+
+    /** The next archiving batch; {@code pageable} only limits it, the order is fixed. */
+    @Query("select r.id as id, r.resource.id as resourceId, r.startTime as startTime, r.endTime as endTime from Reservation r " +
+            "where r.endTime < :cutoff order by r.id")
+    List<ReservationInterval> findIntervalsEndedBefore(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    @Query("select r.id from Reservation r where r.id in :ids and r.endTime < :cutoff")
+    List<Long> findIdsEndedBefore(@Param("ids") Collection<Long> ids, @Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("delete from Reservation r where r.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select r.id as id, r.resource.id as resourceId, r.startTime as startTime, r.endTime as endTime from Reservation r where r.status = :status")
+    List<ReservationInterval> findIntervalsByStatus(@Param("status") ReservationStatus status);
+
+    @Query("select r.id as id, r.resource.id as resourceId, r.startTime as startTime, r.endTime as endTime from Reservation r " +
+            "where r.resource.id = :resourceId and r.status = :status")
+    List<ReservationInterval> findIntervalsByResourceAndStatus(@Param("resourceId") Long resourceId,
+                                                               @Param("status") ReservationStatus status);
+
+    @Query("select r.id as id, r.resource.id as resourceId, r.startTime as startTime, r.endTime as endTime from Reservation r " +
+            "where r.resource.id in :resourceIds and r.status = :status and r.startTime < :end and r.endTime > :start")
+    List<ReservationInterval> findIntervalsOverlapping(@Param("resourceIds") Collection<Long> resourceIds,
+                                                       @Param("status") ReservationStatus status,
+                                                       @Param("start") Instant start,
+                                                       @Param("end") Instant end);
 }
@@ -0,0 +1,35 @@
+package com.example.booking.repository;
+
+import com.example.booking.dto.ReservationResponse;
+import com.example.booking.model.Reservation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read paths that project straight into {@link ReservationResponse}: one SQL statement joining
+ * reservations, resources and users, selecting only the columns the response carries.
+ */
+public interface ReservationRepositoryCustom {
+
+    Page<ReservationResponse> findResponses(Specification<Reservation> spec, Pageable pageable);
+
+    /** Ordered, limited query without the count that a {@link Page} always needs. */
+    List<ReservationResponse> findResponseSlice(Specification<Reservation> spec, Sort sort, int limit);
+
+    /** The same listing over {@code reservations_archive}; the specification is applied to the archive's root. */
+    Page<ReservationResponse> findArchivedResponses(Specification<Reservation> spec, Pageable pageable);
+
+    Optional<ReservationResponse> findResponseById(Long id);
+
+    /**
+     * Forward-only cursor over every matching row, fetched from the driver {@code fetchSize} rows at a time.
+     * Must be consumed and closed inside a transaction.
+     */
+    Stream<ReservationResponse> streamResponses(Specification<Reservation> spec, Sort sort, int fetchSize);
+}
@@ -0,0 +1,108 @@
+package com.example.booking.repository;
+
+import com.example.booking.dto.ReservationResponse;
+import com.example.booking.model.ArchivedReservation;
+import com.example.booking.model.Reservation;
+import com.example.booking.model.ResourceEntity;
+import com.example.booking.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class ReservationRepositoryImpl implements ReservationRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ReservationResponse> findResponses(Specification<Reservation> spec, Pageable pageable) {
+        return page(Reservation.class, spec, pageable);
+    }
+
+    @Override
+    public Page<ReservationResponse> findArchivedResponses(Specification<Reservation> spec, Pageable pageable) {
+        return page(ArchivedReservation.class, spec, pageable);
+    }
+
+    @Override
+    public List<ReservationResponse> findResponseSlice(Specification<Reservation> spec, Sort sort, int limit) {
+        return responseQuery(Reservation.class, spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Optional<ReservationResponse> findResponseById(Long id) {
+        Specification<Reservation> byId = (root, query, cb) -> cb.equal(root.get("id"), id);
+        return responseQuery(Reservation.class, byId, Sort.unsorted()).getResultStream().findFirst();
+    }
+
+    @Override
+    public Stream<ReservationResponse> streamResponses(Specification<Reservation> spec, Sort sort, int fetchSize) {
+        // constructor projections are never managed entities, so the persistence context stays empty however many rows pass
+        return responseQuery(Reservation.class, spec, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private Page<ReservationResponse> page(Class<?> entity, Specification<Reservation> spec, Pageable pageable) {
+        TypedQuery<ReservationResponse> query = responseQuery(entity, spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(entity, spec));
+    }
+
+    private TypedQuery<ReservationResponse> responseQuery(Class<?> entity, Specification<Reservation> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ReservationResponse> query = cb.createQuery(ReservationResponse.class);
+        Root<Reservation> root = root(query, entity);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // implicit joins on the same path are shared with the specification's, so this stays one join per table
+        Path<ResourceEntity> resource = root.get("resource");
+        Path<User> user = root.get("user");
+        query.select(cb.construct(ReservationResponse.class,
+                root.get("id"), resource.get("id"), resource.get("name"), user.get("id"), user.get("username"),
+                root.get("status"), root.get("price"), root.get("startTime"), root.get("endTime"),
+                root.get("createdAt"), root.get("updatedAt"), root.get("version")));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Class<?> entity, Specification<Reservation> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Reservation> root = root(query, entity);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.count(root));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * {@link ArchivedReservation} has the same attribute names as {@link Reservation}, and specifications only
+     * navigate by name, so a reservation specification applies to an archive root unchanged.
+     */
+    @SuppressWarnings("unchecked")
+    private static Root<Reservation> root(CriteriaQuery<?> query, Class<?> entity) {
+        return (Root<Reservation>) (Root<?>) query.from(entity);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.booking.repository;
+
+import com.example.booking.model.ReservationRollup;
+import com.example.booking.model.ReservationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ReservationRollupRepository extends JpaRepository<ReservationRollup, Long> {
+
+    /** Adds deltas to an existing rollup row; returns 0 when the row does not exist yet. */
+    @Modifying
+    @Query("update ReservationRollup r set r.bookedSeconds = r.bookedSeconds + :seconds, r.revenue = r.revenue + :revenue, " +
+            "r.reservations = r.reservations + :count " +
+            "where r.resourceId = :resourceId and r.day = :day and r.status = :status")
+    int increment(@Param("resourceId") Long resourceId,
+                  @Param("day") LocalDate day,
+                  @Param("status") ReservationStatus status,
+                  @Param("seconds") long seconds,
+                  @Param("revenue") BigDecimal revenue,
+                  @Param("count") long count);
+
+    List<ReservationRollup> findByResourceIdAndStatusAndDayBetweenOrderByDay(Long resourceId, ReservationStatus status,
+                                                                             LocalDate from, LocalDate to);
+
+    @Query("select r.status as status, sum(r.revenue) as revenue, sum(r.reservations) as reservations " +
+            "from ReservationRollup r where r.day between :from and :to and (:resourceId is null or r.resourceId = :resourceId) " +
+            "group by r.status")
+    List<RevenueTotal> sumRevenueByStatus(@Param("resourceId") Long resourceId,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("delete from ReservationRollup r where r.resourceId in :resourceIds")
+    int deleteByResourceIds(@Param("resourceIds") Collection<Long> resourceIds);
+}
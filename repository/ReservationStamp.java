@@ -0,0 +1,11 @@
+package com.example.booking.repository;
+
+import java.time.Instant;
+
+/**
+ * Just enough of a reservation to authorize access and answer a conditional GET.
+ */
+public interface ReservationStamp {
+    Instant getUpdatedAt();
+    String getUsername();
+}
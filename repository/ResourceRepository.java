@@ -1,7 +1,28 @@
 package com.example.booking.repository;
 
 import com.example.booking.model.ResourceEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ResourceRepository extends JpaRepository<ResourceEntity, Long> {
+
+    @Query("select r.id from ResourceEntity r order by r.id")
+    List<Long> findAllIds();
+
+    /** Reads and row-locks resources for a booking write, in id order; bookings from other instances wait for the commit. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from ResourceEntity r where r.id in :ids order by r.id")
+    List<ResourceEntity> lockForBooking(@Param("ids") Collection<Long> ids);
+
+    // a bulk update, so the resource's own @Version (its ETag) is left alone
+    @Modifying
+    @Query("update ResourceEntity r set r.bookingVersion = r.bookingVersion + 1 where r.id in :ids")
+    int incrementBookingVersion(@Param("ids") Collection<Long> ids);
 }
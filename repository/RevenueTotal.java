@@ -0,0 +1,12 @@
+package com.example.booking.repository;
+
+import com.example.booking.model.ReservationStatus;
+
+import java.math.BigDecimal;
+
+/** Revenue and reservation count summed over rollup rows for one status. */
+public interface RevenueTotal {
+    ReservationStatus getStatus();
+    BigDecimal getRevenue();
+    Long getReservations();
+}
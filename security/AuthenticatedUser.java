@@ -0,0 +1,32 @@
+package com.example.booking.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal of a JWT-authenticated request. {@code Authentication.getName()} still yields the username;
+ * the id lets write paths reference the user row without looking it up.
+ */
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+    private final Long id;
+    private final String username;
+
+    public AuthenticatedUser(Long id, String username) {
+        this.id = id;
+        this.username = username;
+    }
+
+    /** Null for tokens issued before the id was embedded. */
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
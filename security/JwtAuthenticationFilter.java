@@ -1,5 +1,7 @@
 package com.example.booking.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,12 +12,21 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+    private final Timer absentTimer;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, MeterRegistry registry) {
         this.jwtUtil = jwtUtil;
+        // time spent authenticating the request in this filter, excluding the rest of the chain
+        this.validTimer = Timer.builder("booking.auth.jwt").tag("result", "valid").register(registry);
+        this.invalidTimer = Timer.builder("booking.auth.jwt").tag("result", "invalid").register(registry);
+        this.absentTimer = Timer.builder("booking.auth.jwt").tag("result", "absent").register(registry);
     }
 
     @Override
@@ -23,20 +34,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
+        long startedAt = System.nanoTime();
+        Timer outcome = absentTimer;
         String header = request.getHeader("Authorization");
         if (header != null && header.startsWith("Bearer ")) {
             String token = header.substring(7);
-            if (jwtUtil.validate(token)) {
-                String username = jwtUtil.getUsername(token);
-                var roles = jwtUtil.getRoles(token);
-                var authorities = roles.stream()
-                        .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
+            var claims = jwtUtil.verify(token);
+            outcome = claims.isPresent() ? validTimer : invalidTimer;
+            claims.ifPresent(c -> {
+                var authorities = c.getRoles().stream()
+                        // token roles are Role names, which already carry the prefix hasRole() expects
+                        .map(r -> new SimpleGrantedAuthority(r.startsWith("ROLE_") ? r : "ROLE_" + r))
                         .collect(Collectors.toList());
 
-                var auth = new UsernamePasswordAuthenticationToken(username, null, authorities);
+                var auth = new UsernamePasswordAuthenticationToken(new AuthenticatedUser(c.getUserId(), c.getUsername()), null, authorities);
                 SecurityContextHolder.getContext().setAuthentication(auth);
-            }
+            });
         }
+        outcome.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
         filterChain.doFilter(request, response);
     }
 }
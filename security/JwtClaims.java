@@ -0,0 +1,38 @@
+package com.example.booking.security;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Claims of a token whose signature and expiry have already been checked.
+ */
+public class JwtClaims {
+    private final Long userId;
+    private final String username;
+    private final Set<String> roles;
+    private final Instant expiresAt;
+
+    public JwtClaims(Long userId, String username, Set<String> roles, Instant expiresAt) {
+        this.userId = userId;
+        this.username = username;
+        this.roles = roles;
+        this.expiresAt = expiresAt;
+    }
+
+    /** Null for tokens issued before the id was embedded. */
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.booking.security;
 
+import com.example.booking.cache.ExpiringCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -13,45 +17,106 @@ public class JwtUtil {
     private final String secret;
     private final long expirationMs;
     private final Key key;
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private final JwtParser parser;
+    // verified claims keyed by a SHA-256 digest of the token, evicted no later than the token expires
+    private final ExpiringCache<String, JwtClaims> verified;
 
     public JwtUtil(org.springframework.core.env.Environment env) {
         this.secret = env.getProperty("jwt.secret", "changeme");
-        this.expirationMs = Long.parseLong(env.getProperty("jwt.expiration-ms", "86400000"));
+        // access tokens are short-lived; sessions are renewed with refresh tokens, not passwords
+        this.expirationMs = Long.parseLong(env.getProperty("jwt.expiration-ms", "900000"));
         this.key = Keys.hmacShaKeyFor(secret.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verified = new ExpiringCache<>(
+                env.getProperty("jwt.cache.max-size", Integer.class, 10_000),
+                env.getProperty("jwt.cache.ttl-ms", Long.class, 300_000L));
     }
 
     public String generateToken(String username, Set<String> roles) {
+        return generateToken(null, username, roles);
+    }
+
+    /** Embeds the user id as the {@code uid} claim so requests can reference the user without a lookup. */
+    public String generateToken(Long userId, String username, Set<String> roles) {
         long now = System.currentTimeMillis();
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username)
-                .claim("roles", roles)
+                .claim("roles", roles);
+        if (userId != null) {
+            builder.claim("uid", userId);
+        }
+        return builder
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + expirationMs))
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean validate(String token) {
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    /**
+     * Verifies signature and expiry once and returns the claims, or empty if the token is invalid.
+     * Tokens seen before are answered from the cache without re-parsing.
+     */
+    public Optional<JwtClaims> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        String digest = verified.isEnabled() ? digest(token) : null;
+        if (digest != null) {
+            JwtClaims cached = verified.get(digest);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            Claims body = parser.parseClaimsJws(token).getBody();
+            Date expiration = body.getExpiration();
+            JwtClaims claims = new JwtClaims(body.get("uid", Long.class), body.getSubject(), roles(body),
+                    expiration == null ? null : expiration.toInstant());
+            if (digest != null) {
+                verified.put(digest, claims, expiration == null ? Long.MAX_VALUE : expiration.getTime());
+            }
+            return Optional.of(claims);
         } catch (JwtException | IllegalArgumentException ex) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean validate(String token) {
+        return verify(token).isPresent();
+    }
+
     public String getUsername(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token)
-                .getBody().getSubject();
+        return verifyOrThrow(token).getUsername();
     }
 
-    @SuppressWarnings("unchecked")
     public Set<String> getRoles(String token) {
-        Object claim = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token)
-                .getBody().get("roles");
+        return verifyOrThrow(token).getRoles();
+    }
+
+    private JwtClaims verifyOrThrow(String token) {
+        return verify(token).orElseThrow(() -> new JwtException("Invalid or expired token"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> roles(Claims body) {
+        Object claim = body.get("roles");
         if (claim instanceof List) {
-            return ((List<Object>) claim).stream().map(Object::toString).collect(Collectors.toSet());
+            return ((List<Object>) claim).stream().map(Object::toString).collect(Collectors.toUnmodifiableSet());
         }
         return Set.of();
     }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
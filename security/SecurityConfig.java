@@ -1,13 +1,23 @@
 package com.example.booking.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
@@ -17,10 +27,12 @@ public class SecurityConfig {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final MeterRegistry meterRegistry;
 
-    public SecurityConfig(JwtUtil jwtUtil, UserDetailsServiceImpl uds) {
+    public SecurityConfig(JwtUtil jwtUtil, UserDetailsServiceImpl uds, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = uds;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
@@ -30,14 +42,62 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt with a per-deployment cost, hashed on a bounded pool; the timer measures hashing on the pool
+     * thread, excluding queue wait.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(Environment env) {
+        int strength = env.getProperty("security.bcrypt.strength", Integer.class, 10);
+        PasswordEncoder timed = new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry);
+        return new BoundedPasswordEncoder(timed,
+                env.getProperty("security.bcrypt.threads", Integer.class, Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+                env.getProperty("security.bcrypt.queue-depth", Integer.class, 64),
+                env.getProperty("security.bcrypt.timeout-ms", Long.class, 2000L),
+                meterRegistry);
     }
 
+    /**
+     * The Prometheus scrape endpoint answers to an ADMIN token or to HTTP Basic with the scrape credential
+     * ({@code booking.metrics.scrape-username} / {@code booking.metrics.scrape-password}, the password plain or
+     * in {@code {id}hash} form). Without a configured credential only ADMIN tokens are accepted.
+     */
     @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http, Environment env) throws Exception {
+        http.securityMatcher("/actuator/prometheus")
+                .csrf(csrf -> csrf.disable())
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasAnyRole("ADMIN", "METRICS"))
+                .authenticationManager(scrapeAuthentication(env))
+                .httpBasic(Customizer.withDefaults())
+                .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil, meterRegistry), UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+
+    private static AuthenticationManager scrapeAuthentication(Environment env) {
+        String username = env.getProperty("booking.metrics.scrape-username", "");
+        String password = env.getProperty("booking.metrics.scrape-password", "");
+        if (username.isBlank() || password.isBlank()) {
+            return authentication -> {
+                throw new BadCredentialsException("No scrape credential configured");
+            };
+        }
+        var users = new InMemoryUserDetailsManager(User.withUsername(username)
+                .password(password.startsWith("{") ? password : "{noop}" + password)
+                .roles("METRICS")
+                .build());
+        var provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(users);
+        provider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        return new ProviderManager(provider);
+    }
+
+    @Bean
+    @Order(2)
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
-        var jwtFilter = new JwtAuthenticationFilter(jwtUtil);
+        var jwtFilter = new JwtAuthenticationFilter(jwtUtil, meterRegistry);
 
         http.csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
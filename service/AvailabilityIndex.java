@@ -0,0 +1,186 @@
+package com.example.booking.service;
+
+import com.example.booking.model.Reservation;
+import com.example.booking.model.ReservationStatus;
+import com.example.booking.repository.ReservationInterval;
+import com.example.booking.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of CONFIRMED reservation intervals, keyed by resource id.
+ *
+ * Each resource holds an immutable {@link ResourceIntervals} snapshot, so overlap and peak-occupancy
+ * probes are binary searches. Writers replace the snapshot copy-on-write; readers never lock.
+ *
+ * It also decides admission: {@link BookingAdmission} asks {@link #current} while the booking transaction holds
+ * the resource's row lock. Every booking write bumps the row's {@code bookingVersion}, so a resource whose version
+ * differs from the one the index last saw was booked through another instance and is reloaded before the check.
+ * Availability search reads the snapshots as they are; bookings made elsewhere reach it through that reload or the
+ * periodic refresh ({@code booking.availability-index.refresh-ms}).
+ */
+@Component
+public class AvailabilityIndex {
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private final ReservationRepository reservationRepository;
+    private final boolean enabled;
+    private final Map<Long, ResourceIntervals> byResource = new ConcurrentHashMap<>();
+    // resources written through this instance since the current refresh started reading
+    private final Set<Long> touched = ConcurrentHashMap.newKeySet();
+    // resource id -> reservations removed through this instance while the startup load was reading
+    private final Map<Long, Set<Long>> removedWhileLoading = new ConcurrentHashMap<>();
+    // resource id -> bookingVersion the snapshot is known to reflect in full
+    private final Map<Long, Long> synced = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public AvailabilityIndex(ReservationRepository reservationRepository, Environment env) {
+        this.reservationRepository = reservationRepository;
+        this.enabled = env.getProperty("booking.availability-index.enabled", Boolean.class, true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("Availability index disabled, availability search will use the database");
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        Map<Long, ResourceIntervals> loaded = read();
+
+        // writes that committed while we were loading are already in the map and win over the loaded rows, and
+        // reservations cancelled or moved away meanwhile are taken out of them rather than read back in; a resource
+        // reloaded by current() meanwhile is complete and newer than what was read here
+        loaded.forEach((resourceId, intervals) -> {
+            if (synced.containsKey(resourceId)) return;
+            byResource.compute(resourceId, (k, live) -> {
+                ResourceIntervals stored = intervals;
+                for (Long reservationId : removedWhileLoading.getOrDefault(k, Set.of())) {
+                    stored = stored.without(reservationId);
+                }
+                ResourceIntervals merged = live == null ? stored : stored.withAll(live);
+                return merged.size() == 0 ? null : merged;
+            });
+        });
+        ready = true;
+        removedWhileLoading.clear();
+        log.info("Availability index loaded {} intervals for {} resources in {} ms",
+                loaded.values().stream().mapToInt(ResourceIntervals::size).sum(), loaded.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Replaces every resource's intervals with the database's, so bookings made or cancelled through other
+     * instances show up here. A resource written through this instance while the rows were read keeps its live
+     * state until the next refresh.
+     */
+    @Scheduled(initialDelayString = "${booking.availability-index.refresh-ms:300000}", fixedDelayString = "${booking.availability-index.refresh-ms:300000}")
+    public void refresh() {
+        if (!ready) return;
+        long startedAt = System.currentTimeMillis();
+        touched.clear();
+        Map<Long, ResourceIntervals> loaded = read();
+        Set<Long> resourceIds = new HashSet<>(loaded.keySet());
+        resourceIds.addAll(byResource.keySet());
+        for (Long resourceId : resourceIds) {
+            byResource.compute(resourceId, (k, live) -> touched.contains(k) ? live : loaded.get(k));
+        }
+        log.debug("Availability index refreshed {} resources in {} ms", loaded.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    private Map<Long, ResourceIntervals> read() {
+        Map<Long, ResourceIntervals> loaded = new HashMap<>();
+        reservationRepository.findIntervalsByStatus(ReservationStatus.CONFIRMED).stream()
+                .collect(Collectors.groupingBy(ReservationInterval::getResourceId))
+                .forEach((resourceId, rows) -> loaded.put(resourceId, ResourceIntervals.of(rows)));
+        return loaded;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Highest number of CONFIRMED reservations active at the same time anywhere in [start, end). */
+    public int peakOccupancy(Long resourceId, Instant start, Instant end) {
+        ResourceIntervals intervals = byResource.get(resourceId);
+        return intervals == null ? 0 : intervals.peak(start, end);
+    }
+
+    ResourceIntervals snapshot(Long resourceId) {
+        return byResource.getOrDefault(resourceId, ResourceIntervals.EMPTY);
+    }
+
+    /**
+     * The resource's CONFIRMED intervals as of {@code bookingVersion}, read from its locked row by a caller that also
+     * holds the resource's lock stripe. A resource last seen at another version, or never checked since startup,
+     * is reloaded from the database first.
+     */
+    ResourceIntervals current(Long resourceId, long bookingVersion) {
+        Long seen = synced.get(resourceId);
+        if (seen != null && seen == bookingVersion) {
+            return snapshot(resourceId);
+        }
+        ResourceIntervals reloaded = ResourceIntervals.of(
+                reservationRepository.findIntervalsByResourceAndStatus(resourceId, ReservationStatus.CONFIRMED));
+        // touched first, so a refresh that read the table earlier cannot put its older rows back
+        touched.add(resourceId);
+        synced.put(resourceId, bookingVersion);
+        if (reloaded.size() == 0) {
+            byResource.remove(resourceId);
+        } else {
+            byResource.put(resourceId, reloaded);
+        }
+        return reloaded;
+    }
+
+    /**
+     * Called after a booking write that bumped the resource from {@code bookingVersion} has committed and been
+     * tracked. If the index was not in step before the write it stays out of step, and the next check reloads.
+     */
+    public void advance(Long resourceId, long bookingVersion) {
+        if (!enabled) return;
+        synced.replace(resourceId, bookingVersion, bookingVersion + 1);
+    }
+
+    /** Records the committed state of a reservation: CONFIRMED ones are indexed, anything else is dropped. */
+    public void track(Reservation r) {
+        if (!enabled) return;
+        Long resourceId = r.getResource().getId();
+        touched.add(resourceId);
+        if (r.getStatus() == ReservationStatus.CONFIRMED && ResourceIntervals.isValid(r.getStartTime(), r.getEndTime())) {
+            byResource.compute(resourceId, (k, cur) ->
+                    (cur == null ? ResourceIntervals.EMPTY : cur).with(r.getId(), r.getStartTime(), r.getEndTime()));
+        } else {
+            remove(resourceId, r.getId());
+        }
+    }
+
+    public void remove(Long resourceId, Long reservationId) {
+        if (!enabled) return;
+        touched.add(resourceId);
+        if (!ready) {
+            // journaled before the map changes, so load() either sees it or runs its merge first
+            removedWhileLoading.computeIfAbsent(resourceId, k -> ConcurrentHashMap.newKeySet()).add(reservationId);
+        }
+        byResource.computeIfPresent(resourceId, (k, cur) -> {
+            ResourceIntervals next = cur.without(reservationId);
+            return next.size() == 0 ? null : next;
+        });
+    }
+}
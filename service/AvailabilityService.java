@@ -0,0 +1,305 @@
+package com.example.booking.service;
+
+import com.example.booking.dto.ResourceDto;
+import com.example.booking.dto.TimeWindow;
+import com.example.booking.model.ReservationStatus;
+import com.example.booking.repository.ReservationInterval;
+import com.example.booking.repository.ReservationRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Free-slot search. A resource is busy wherever its CONFIRMED reservations fill its capacity; anything else
+ * in the requested window is free. Reservations are consumed in start order from the availability index when
+ * it is loaded, otherwise from a single ordered range scan, and free windows are handed to the caller as
+ * they are found, so only the reservations active at the current instant are held in memory.
+ */
+@Service
+public class AvailabilityService {
+    private final AvailabilityIndex availabilityIndex;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate readOnlyTx;
+    private final Duration maxRange;
+    private final ResourceService resourceService;
+    private final ForkJoinPool searchPool;
+    private final int partitionSize;
+
+    public AvailabilityService(AvailabilityIndex availabilityIndex, ReservationRepository reservationRepository,
+                               ResourceService resourceService, PlatformTransactionManager transactionManager,
+                               Environment env) {
+        this.availabilityIndex = availabilityIndex;
+        this.reservationRepository = reservationRepository;
+        this.resourceService = resourceService;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.maxRange = Duration.ofDays(env.getProperty("booking.availability.max-range-days", Long.class, 366L));
+        this.searchPool = new ForkJoinPool(env.getProperty("booking.search.parallelism", Integer.class,
+                Runtime.getRuntime().availableProcessors()));
+        this.partitionSize = Math.max(1, env.getProperty("booking.search.partition-size", Integer.class, 256));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        searchPool.shutdown();
+    }
+
+    /**
+     * Active resources of {@code type} (any type if blank) with capacity of at least {@code minCapacity} that can
+     * take one more booking for [start, end): their peak CONFIRMED occupancy in that range is below capacity.
+     * Best fit first: smallest sufficient capacity, then name.
+     *
+     * Candidates come from the cached catalog. With the availability index loaded they are checked in parallel
+     * partitions on a dedicated fork-join pool; otherwise one range query loads the overlapping intervals.
+     */
+    public Page<ResourceDto> findFreeResources(String type, Integer minCapacity, String start, String end, int page, int size) {
+        Instant from = Instant.parse(start);
+        Instant to = Instant.parse(end);
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'end' must be after 'start'");
+        }
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("page must be >= 0 and size >= 1");
+        }
+        int needed = minCapacity == null ? 1 : minCapacity;
+        List<ResourceDto> candidates = resourceService.catalog().getResources().stream()
+                .filter(ResourceDto::isActive)
+                .filter(r -> type == null || type.isBlank() || type.equalsIgnoreCase(r.getType()))
+                .filter(r -> capacityOf(r) >= needed)
+                .collect(Collectors.toList());
+
+        List<ResourceDto> free;
+        if (availabilityIndex.isReady()) {
+            free = searchPool.invoke(new FreeResourceTask(candidates, 0, candidates.size(), from, to));
+        } else if (candidates.isEmpty()) {
+            free = candidates;
+        } else {
+            Set<Long> ids = candidates.stream().map(ResourceDto::getId).collect(Collectors.toSet());
+            Map<Long, ResourceIntervals> stored = reservationRepository.findIntervalsOverlapping(ids, ReservationStatus.CONFIRMED, from, to)
+                    .stream()
+                    .collect(Collectors.groupingBy(ReservationInterval::getResourceId,
+                            Collectors.collectingAndThen(Collectors.toList(), ResourceIntervals::of)));
+            free = candidates.stream()
+                    .filter(r -> stored.getOrDefault(r.getId(), ResourceIntervals.EMPTY).peak(from, to) < capacityOf(r))
+                    .collect(Collectors.toList());
+        }
+
+        free.sort(Comparator.comparingInt(AvailabilityService::capacityOf)
+                .thenComparing(ResourceDto::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(ResourceDto::getId));
+        int fromIndex = (int) Math.min((long) page * size, free.size());
+        int toIndex = Math.min(fromIndex + size, free.size());
+        return new PageImpl<>(free.subList(fromIndex, toIndex), PageRequest.of(page, size), free.size());
+    }
+
+    private static int capacityOf(ResourceDto r) {
+        return BookingAdmission.effectiveCapacity(r.getCapacity());
+    }
+
+    /** Splits the candidate list in halves until a partition is small enough to probe the index directly. */
+    private final class FreeResourceTask extends RecursiveTask<List<ResourceDto>> {
+        private final List<ResourceDto> candidates;
+        private final int lo;
+        private final int hi;
+        private final Instant from;
+        private final Instant to;
+
+        FreeResourceTask(List<ResourceDto> candidates, int lo, int hi, Instant from, Instant to) {
+            this.candidates = candidates;
+            this.lo = lo;
+            this.hi = hi;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<ResourceDto> compute() {
+            if (hi - lo <= partitionSize) {
+                List<ResourceDto> free = new ArrayList<>();
+                for (int i = lo; i < hi; i++) {
+                    ResourceDto r = candidates.get(i);
+                    if (availabilityIndex.peakOccupancy(r.getId(), from, to) < capacityOf(r)) {
+                        free.add(r);
+                    }
+                }
+                return free;
+            }
+            int mid = (lo + hi) >>> 1;
+            FreeResourceTask left = new FreeResourceTask(candidates, lo, mid, from, to);
+            left.fork();
+            List<ResourceDto> free = new FreeResourceTask(candidates, mid, hi, from, to).compute();
+            List<ResourceDto> merged = new ArrayList<>(left.join());
+            merged.addAll(free);
+            return merged;
+        }
+    }
+
+    /** Validates a free-slot query up front, so bad input fails before any response is streamed. */
+    public FreeSlotQuery query(Long resourceId, String from, String to, String duration, String step) {
+        Instant start = Instant.parse(from);
+        Instant end = Instant.parse(to);
+        Duration minLength = Duration.parse(duration);
+        Duration grid = step == null || step.isBlank() ? null : Duration.parse(step);
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        if (Duration.between(start, end).compareTo(maxRange) > 0) {
+            throw new IllegalArgumentException("Search window must not exceed " + maxRange.toDays() + " days");
+        }
+        if (minLength.isZero() || minLength.isNegative()) {
+            throw new IllegalArgumentException("'duration' must be positive");
+        }
+        if (grid != null && (grid.isZero() || grid.isNegative())) {
+            throw new IllegalArgumentException("'step' must be positive");
+        }
+        int capacity = BookingAdmission.effectiveCapacity(resourceService.get(resourceId).getCapacity());
+        return new FreeSlotQuery(resourceId, capacity, start, end, minLength, grid);
+    }
+
+    /** Emits free windows of {@code query} in time order. */
+    public void forEachFreeWindow(FreeSlotQuery query, Consumer<TimeWindow> sink) {
+        FreeWindowSweep sweep = new FreeWindowSweep(query, sink);
+        SaturationSweep saturation = new SaturationSweep(query.capacity, sweep::busy);
+        if (availabilityIndex.isReady()) {
+            availabilityIndex.snapshot(query.resourceId).forEachOverlapping(query.from, query.to, saturation::add);
+        } else {
+            readOnlyTx.executeWithoutResult(tx -> {
+                try (Stream<ReservationInterval> rows = reservationRepository.streamIntervalsOverlapping(
+                        query.resourceId, ReservationStatus.CONFIRMED, query.from, query.to)) {
+                    rows.forEach(r -> saturation.add(r.getStartTime(), r.getEndTime()));
+                }
+            });
+        }
+        saturation.finish();
+        sweep.finish();
+    }
+
+    public static final class FreeSlotQuery {
+        private final Long resourceId;
+        private final int capacity;
+        private final Instant from;
+        private final Instant to;
+        private final Duration duration;
+        private final Duration step;
+
+        private FreeSlotQuery(Long resourceId, int capacity, Instant from, Instant to, Duration duration, Duration step) {
+            this.resourceId = resourceId;
+            this.capacity = capacity;
+            this.from = from;
+            this.to = to;
+            this.duration = duration;
+            this.step = step;
+        }
+
+        public Long getResourceId() {
+            return resourceId;
+        }
+    }
+
+    /**
+     * Turns reservations sorted by start into the ranges where at least {@code capacity} of them are active,
+     * reported in start order. Only the end times of currently active reservations are kept, in a min-heap.
+     */
+    private static final class SaturationSweep {
+        private final int capacity;
+        private final BiConsumer<Instant, Instant> saturated;
+        private final PriorityQueue<Instant> activeEnds = new PriorityQueue<>();
+        private Instant saturatedSince;
+
+        SaturationSweep(int capacity, BiConsumer<Instant, Instant> saturated) {
+            this.capacity = capacity;
+            this.saturated = saturated;
+        }
+
+        void add(Instant start, Instant end) {
+            if (!end.isAfter(start)) return;
+            expireUntil(start);
+            activeEnds.add(end);
+            if (activeEnds.size() == capacity) {
+                saturatedSince = start;
+            }
+        }
+
+        void finish() {
+            expireUntil(Instant.MAX);
+        }
+
+        /** Drops reservations ending at or before {@code instant}, closing the saturated range if it ends. */
+        private void expireUntil(Instant instant) {
+            while (!activeEnds.isEmpty() && !activeEnds.peek().isAfter(instant)) {
+                Instant end = activeEnds.poll();
+                if (activeEnds.size() == capacity - 1) {
+                    saturated.accept(saturatedSince, end);
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks busy intervals sorted by start and reports the gaps between them. With a {@code step}, window
+     * starts are rounded up to the grid {@code from + k * step}.
+     */
+    private static final class FreeWindowSweep {
+        private final FreeSlotQuery query;
+        private final Consumer<TimeWindow> sink;
+        private Instant cursor;
+
+        FreeWindowSweep(FreeSlotQuery query, Consumer<TimeWindow> sink) {
+            this.query = query;
+            this.sink = sink;
+            this.cursor = query.from;
+        }
+
+        void busy(Instant start, Instant end) {
+            if (!cursor.isBefore(query.to)) return;
+            if (start.isAfter(cursor)) {
+                emit(cursor, start.isBefore(query.to) ? start : query.to);
+            }
+            if (end.isAfter(cursor)) {
+                cursor = end;
+            }
+        }
+
+        void finish() {
+            if (cursor.isBefore(query.to)) {
+                emit(cursor, query.to);
+            }
+            cursor = query.to;
+        }
+
+        private void emit(Instant start, Instant end) {
+            Instant aligned = align(start);
+            if (Duration.between(aligned, end).compareTo(query.duration) >= 0) {
+                sink.accept(new TimeWindow(aligned, end));
+            }
+        }
+
+        private Instant align(Instant start) {
+            if (query.step == null) return start;
+            long stepNanos = query.step.toNanos();
+            long offset = Duration.between(query.from, start).toNanos();
+            long steps = (offset + stepNanos - 1) / stepNanos;
+            return query.from.plusNanos(steps * stepNanos);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.booking.service;
+
+import com.example.booking.model.Reservation;
+
+/**
+ * Outcome of a single entry in a batch booking. {@code reservation} is set for accepted items,
+ * {@code error} for rejected ones.
+ */
+public class BatchItem {
+    private final int index;
+    private final Reservation reservation;
+    private final String error;
+
+    private BatchItem(int index, Reservation reservation, String error) {
+        this.index = index;
+        this.reservation = reservation;
+        this.error = error;
+    }
+
+    static BatchItem accepted(int index, Reservation reservation) {
+        return new BatchItem(index, reservation, null);
+    }
+
+    static BatchItem failed(int index, String error) {
+        return new BatchItem(index, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Reservation getReservation() {
+        return reservation;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isAccepted() {
+        return error == null;
+    }
+}
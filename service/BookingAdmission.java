@@ -0,0 +1,130 @@
+package com.example.booking.service;
+
+import com.example.booking.model.ReservationStatus;
+import com.example.booking.model.ResourceEntity;
+import com.example.booking.repository.ReservationInterval;
+import com.example.booking.repository.ReservationRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Capacity check for new bookings: a booking on [start, end) is admitted while the peak number of CONFIRMED
+ * reservations active at the same time in that range stays below the resource's capacity, so that adding
+ * one more keeps it within capacity. A missing or non-positive capacity counts as 1 (exclusive use).
+ *
+ * Callers pass the resource as read by {@code ResourceRepository.lockForBooking}: they hold its row lock, so no
+ * instance can book it until they commit, and its lock stripe, so no thread of this one can either. Stored
+ * intervals come from the availability index, which reloads the resource first if the locked row's
+ * {@code bookingVersion} shows a booking it has not seen. With the index disabled each check is a range query.
+ */
+@Component
+public class BookingAdmission {
+    private final ReservationRepository reservationRepository;
+    private final AvailabilityIndex availabilityIndex;
+
+    public BookingAdmission(ReservationRepository reservationRepository, AvailabilityIndex availabilityIndex) {
+        this.reservationRepository = reservationRepository;
+        this.availabilityIndex = availabilityIndex;
+    }
+
+    static int effectiveCapacity(Integer capacity) {
+        return capacity == null || capacity < 1 ? 1 : capacity;
+    }
+
+    public boolean admits(ResourceEntity locked, Instant start, Instant end) {
+        return stored(locked, start, end).peak(start, end) < effectiveCapacity(locked.getCapacity());
+    }
+
+    /** Admission for a stored booking being moved or confirmed: its own stored interval does not count against it. */
+    public boolean admitsReplacing(long reservationId, ResourceEntity locked, Instant start, Instant end) {
+        return stored(locked, start, end).without(reservationId).peak(start, end) < effectiveCapacity(locked.getCapacity());
+    }
+
+    /** Starts checking a group of bookings on the {@code locked} resources that all fall inside [from, to). */
+    public Session session(Collection<ResourceEntity> locked, Instant from, Instant to) {
+        return new Session(locked, from, to);
+    }
+
+    private ResourceIntervals stored(ResourceEntity locked, Instant from, Instant to) {
+        if (availabilityIndex.isEnabled()) {
+            return availabilityIndex.current(locked.getId(), locked.getBookingVersion());
+        }
+        return load(List.of(locked.getId()), from, to).getOrDefault(locked.getId(), ResourceIntervals.EMPTY);
+    }
+
+    private Map<Long, ResourceIntervals> load(Collection<Long> resourceIds, Instant from, Instant to) {
+        Map<Long, ResourceIntervals> loaded = new HashMap<>();
+        reservationRepository.findIntervalsOverlapping(resourceIds, ReservationStatus.CONFIRMED, from, to).stream()
+                .collect(Collectors.groupingBy(ReservationInterval::getResourceId))
+                .forEach((resourceId, rows) -> loaded.put(resourceId, ResourceIntervals.of(rows)));
+        return loaded;
+    }
+
+    /**
+     * Admission for several bookings in one transaction: each is checked against stored CONFIRMED bookings and
+     * against the CONFIRMED bookings admitted earlier in the same session. Stored intervals come from the index,
+     * or with it disabled from a single range query covering every resource and the whole window.
+     */
+    public final class Session {
+        private final Map<Long, ResourceIntervals> stored;
+        private final Map<Long, ResourceIntervals> admitted = new HashMap<>();
+
+        private Session(Collection<ResourceEntity> locked, Instant from, Instant to) {
+            if (locked.isEmpty()) {
+                this.stored = new HashMap<>();
+            } else if (availabilityIndex.isEnabled()) {
+                Map<Long, ResourceIntervals> current = new HashMap<>();
+                locked.forEach(r -> current.put(r.getId(), availabilityIndex.current(r.getId(), r.getBookingVersion())));
+                this.stored = current;
+            } else {
+                this.stored = load(locked.stream().map(ResourceEntity::getId).toList(), from, to);
+            }
+        }
+
+        /**
+         * Admits [start, end) on {@code resourceId} if it fits. Admitted bookings that {@code occupy} (CONFIRMED
+         * ones) count against later checks; {@code key} identifies them and must be unique within the session.
+         */
+        public boolean admit(long key, Long resourceId, Integer capacity, Instant start, Instant end, boolean occupies) {
+            if (peak(resourceId, start, end) >= effectiveCapacity(capacity)) {
+                return false;
+            }
+            if (occupies) {
+                admitted.put(resourceId, admitted.getOrDefault(resourceId, ResourceIntervals.EMPTY).with(key, start, end));
+            }
+            return true;
+        }
+
+        /**
+         * Peak of stored plus admitted intervals. Admitted ones are few, so the range is cut at their boundaries;
+         * their count is constant on each piece and only the stored peak needs the segment tree.
+         */
+        private int peak(Long resourceId, Instant start, Instant end) {
+            ResourceIntervals base = stored.getOrDefault(resourceId, ResourceIntervals.EMPTY);
+            ResourceIntervals added = admitted.get(resourceId);
+            if (added == null || !added.overlaps(start, end)) {
+                return base.peak(start, end);
+            }
+            TreeSet<Instant> cuts = new TreeSet<>();
+            added.forEachOverlapping(start, end, (s, e) -> {
+                if (s.isAfter(start)) cuts.add(s);
+                if (e.isBefore(end)) cuts.add(e);
+            });
+            cuts.add(end);
+            int peak = 0;
+            Instant pieceStart = start;
+            for (Instant pieceEnd : cuts) {
+                peak = Math.max(peak, base.peak(pieceStart, pieceEnd) + added.countAt(pieceStart));
+                pieceStart = pieceEnd;
+            }
+            return peak;
+        }
+    }
+}
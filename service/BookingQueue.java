@@ -0,0 +1,269 @@
+package com.example.booking.service;
+
+import com.example.booking.cache.ExpiringCache;
+import com.example.booking.dto.BookingTicket;
+import com.example.booking.dto.ReservationRequest;
+import com.example.booking.exception.ResourceNotFoundException;
+import com.example.booking.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous booking: requests are accepted into a queue per resource and answered with a ticket, and one
+ * consumer per resource drains its queue in batches of {@code booking.async.batch-size}. Each batch is decided
+ * in arrival order and committed in one transaction, so a hot resource costs one lock acquisition, one admission
+ * snapshot and one batched insert per batch instead of per request.
+ *
+ * A lane is scheduled on the shared pool ({@code booking.async.workers}) at most once at a time, and gives its
+ * thread back after every batch so hot resources cannot starve the others. A ticket is held until its request is
+ * decided, then kept for {@code booking.async.ticket-ttl-ms}; a full lane ({@code booking.async.queue-capacity})
+ * answers 503.
+ *
+ * On shutdown new requests are refused with 503 and the accepted ones are drained for up to
+ * {@code booking.async.shutdown-timeout-ms}; whatever is still queued then is marked FAILED.
+ */
+@Service
+public class BookingQueue {
+    private static final Logger log = LoggerFactory.getLogger(BookingQueue.class);
+
+    private final ReservationService reservationService;
+    private final ResourceService resourceService;
+    // undecided tickets, bounded by the lane capacities; they move to the expiring cache once decided
+    private final ConcurrentMap<String, QueuedBooking> pendingTickets = new ConcurrentHashMap<>();
+    private final ExpiringCache<String, QueuedBooking> tickets;
+    private final ConcurrentMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ExecutorService consumers;
+    private final int batchSize;
+    private final int laneCapacity;
+    private final long shutdownTimeoutMs;
+    private volatile boolean accepting = true;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+
+    public BookingQueue(ReservationService reservationService, ResourceService resourceService, Environment env, MeterRegistry registry) {
+        this.reservationService = reservationService;
+        this.resourceService = resourceService;
+        this.tickets = new ExpiringCache<>(env.getProperty("booking.async.max-tickets", Integer.class, 100_000),
+                env.getProperty("booking.async.ticket-ttl-ms", Long.class, 900_000L));
+        this.batchSize = Math.max(1, env.getProperty("booking.async.batch-size", Integer.class, 200));
+        this.laneCapacity = Math.max(1, env.getProperty("booking.async.queue-capacity", Integer.class, 10_000));
+        this.shutdownTimeoutMs = env.getProperty("booking.async.shutdown-timeout-ms", Long.class, 30_000L);
+        AtomicInteger ids = new AtomicInteger();
+        this.consumers = Executors.newFixedThreadPool(env.getProperty("booking.async.workers", Integer.class,
+                Runtime.getRuntime().availableProcessors()), r -> {
+            Thread t = new Thread(r, "booking-queue-" + ids.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.batchTimer = Timer.builder("booking.queue.batch").description("One drained batch, including lock wait and commit").register(registry);
+        this.batchSizes = DistributionSummary.builder("booking.queue.batch.size").register(registry);
+        this.rejected = Counter.builder("booking.queue.rejected").description("Requests refused because their resource's queue was full").register(registry);
+        Gauge.builder("booking.queue.depth", queued, AtomicInteger::get).register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        try {
+            // lanes reschedule themselves while they hold requests, so the pool stays open until the queues are empty
+            while (queued.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            consumers.shutdown();
+            if (!consumers.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("Booking queue batches still running after {} ms", shutdownTimeoutMs);
+            }
+        } catch (InterruptedException e) {
+            consumers.shutdown();
+            Thread.currentThread().interrupt();
+        }
+        int failed = 0;
+        for (Lane lane : lanes.values()) {
+            failed += lane.failPending();
+        }
+        if (failed > 0) {
+            log.warn("{} queued bookings were not processed before shutdown", failed);
+        }
+    }
+
+    /**
+     * Checks what can be checked without the database, so malformed requests still fail synchronously, then
+     * queues the request. Capacity is decided by the consumer.
+     */
+    public BookingTicket submit(String username, Long userId, ReservationRequest req) {
+        if (!accepting) {
+            throw new ServiceOverloadedException("Booking queue is shutting down", 1);
+        }
+        if (req.getResourceId() == null) {
+            throw new IllegalArgumentException("resourceId is required.");
+        }
+        if (resourceService.catalog().get(req.getResourceId()) == null) {
+            // created since the catalog was cached, or gone: ask the database, which throws for the latter
+            resourceService.get(req.getResourceId());
+        }
+        if (!Instant.parse(req.getEndTime()).isAfter(Instant.parse(req.getStartTime()))) {
+            throw new IllegalArgumentException("endTime must be after startTime.");
+        }
+
+        QueuedBooking booking = new QueuedBooking(UUID.randomUUID().toString(), username, userId, req);
+        pendingTickets.put(booking.getTicketId(), booking);
+        if (!lanes.computeIfAbsent(req.getResourceId(), Lane::new).offer(booking)) {
+            pendingTickets.remove(booking.getTicketId());
+            rejected.increment();
+            throw new ServiceOverloadedException("Booking queue for resource " + req.getResourceId() + " is full", 1);
+        }
+        return toTicket(booking);
+    }
+
+    public BookingTicket ticket(String ticketId, String requesterUsername, boolean isAdmin) {
+        QueuedBooking booking = pendingTickets.get(ticketId);
+        if (booking == null) {
+            booking = tickets.get(ticketId);
+        }
+        if (booking == null) {
+            throw new ResourceNotFoundException("Ticket not found: " + ticketId);
+        }
+        if (!isAdmin && !booking.getUsername().equals(requesterUsername)) {
+            throw new SecurityException("Not authorized to access this ticket");
+        }
+        return toTicket(booking);
+    }
+
+    private BookingTicket toTicket(QueuedBooking booking) {
+        BookingTicket ticket = new BookingTicket();
+        ticket.setTicketId(booking.getTicketId());
+        ticket.setQueuedAt(booking.getQueuedAt());
+        // completedAt first: once it is set, the outcome is too
+        Instant completedAt = booking.getCompletedAt();
+        if (completedAt == null) {
+            ticket.setStatus("QUEUED");
+            return ticket;
+        }
+        ticket.setCompletedAt(completedAt);
+        ticket.setStatus(booking.getError() == null ? "CREATED" : "FAILED");
+        ticket.setReservation(booking.getReservation());
+        ticket.setError(booking.getError());
+        return ticket;
+    }
+
+    private void process(Long resourceId, List<QueuedBooking> batch) {
+        batchSizes.record(batch.size());
+        try {
+            batchTimer.record(() -> reservationService.createQueued(resourceId, batch));
+        } catch (RuntimeException e) {
+            // e.g. a user deleted since their token was issued: retry one by one so only that request fails
+            log.warn("Queued batch of {} for resource {} failed, retrying individually: {}", batch.size(), resourceId, e.toString());
+            for (QueuedBooking booking : batch) {
+                try {
+                    reservationService.createQueued(resourceId, List.of(booking));
+                } catch (RuntimeException single) {
+                    booking.rejected("Reservation could not be stored.");
+                }
+            }
+        }
+        batch.forEach(this::finish);
+    }
+
+    /** Publishes the outcome; the ticket's TTL starts now. */
+    private void finish(QueuedBooking booking) {
+        booking.publish();
+        // cached before it leaves the pending map, so a lookup in between still finds it
+        tickets.put(booking.getTicketId(), booking);
+        pendingTickets.remove(booking.getTicketId());
+    }
+
+    private final class Lane implements Runnable {
+        private final Long resourceId;
+        private final Queue<QueuedBooking> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Lane(Long resourceId) {
+            this.resourceId = resourceId;
+        }
+
+        boolean offer(QueuedBooking booking) {
+            if (size.incrementAndGet() > laneCapacity) {
+                size.decrementAndGet();
+                return false;
+            }
+            queued.incrementAndGet();
+            pending.add(booking);
+            schedule();
+            return true;
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    consumers.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // shut down: nothing will drain this lane any more
+                    scheduled.set(false);
+                    failPending();
+                }
+            }
+        }
+
+        int failPending() {
+            int failed = 0;
+            QueuedBooking next;
+            while ((next = pending.poll()) != null) {
+                size.decrementAndGet();
+                queued.decrementAndGet();
+                next.rejected("Booking queue shut down before the request was processed.");
+                finish(next);
+                failed++;
+            }
+            return failed;
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<QueuedBooking> batch = new ArrayList<>(Math.min(batchSize, size.get()));
+                QueuedBooking next;
+                while (batch.size() < batchSize && (next = pending.poll()) != null) {
+                    batch.add(next);
+                }
+                size.addAndGet(-batch.size());
+                queued.addAndGet(-batch.size());
+                if (!batch.isEmpty()) {
+                    process(resourceId, batch);
+                }
+            } finally {
+                scheduled.set(false);
+                // requeue behind the other lanes; also covers an offer that raced with clearing the flag
+                if (!pending.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.booking.service;
+
+import com.example.booking.dto.ReservationRequest;
+import com.example.booking.dto.ReservationResponse;
+
+import java.time.Instant;
+
+/**
+ * A booking request waiting in {@link BookingQueue}, and its outcome. The consumer records the outcome while the
+ * batch transaction runs and publishes it after the commit; until then readers see the booking as queued.
+ */
+public class QueuedBooking {
+    private final String ticketId;
+    private final String username;
+    private final Long userId;
+    private final ReservationRequest request;
+    private final Instant queuedAt = Instant.now();
+    private ReservationResponse reservation;
+    private String error;
+    // written last: a reader that sees it also sees the outcome recorded before it
+    private volatile Instant completedAt;
+
+    QueuedBooking(String ticketId, String username, Long userId, ReservationRequest request) {
+        this.ticketId = ticketId;
+        this.username = username;
+        this.userId = userId;
+        this.request = request;
+    }
+
+    void accepted(ReservationResponse reservation) {
+        this.reservation = reservation;
+        this.error = null;
+    }
+
+    void rejected(String error) {
+        this.reservation = null;
+        this.error = error;
+    }
+
+    void publish() {
+        completedAt = Instant.now();
+    }
+
+    public String getTicketId() {
+        return ticketId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public ReservationRequest getRequest() {
+        return request;
+    }
+
+    public Instant getQueuedAt() {
+        return queuedAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public ReservationResponse getReservation() {
+        return reservation;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
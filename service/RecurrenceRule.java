@@ -0,0 +1,95 @@
+package com.example.booking.service;
+
+import com.example.booking.dto.RecurringReservationRequest;
+import com.example.booking.dto.TimeWindow;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RRULE-style recurrence (FREQ=DAILY|WEEKLY|MONTHLY with INTERVAL and COUNT or UNTIL) of a first occurrence.
+ *
+ * Occurrence n starts n intervals after the first in the rule's zone, so the wall-clock start time survives DST
+ * changes and monthly series do not drift after a short month; every occurrence keeps the first one's duration.
+ * As in RFC 5545, monthly dates that do not exist (the 31st in April) are skipped rather than moved.
+ */
+final class RecurrenceRule {
+    enum Frequency { DAILY, WEEKLY, MONTHLY }
+
+    // upper bound on steps, for monthly series whose day only exists in some months
+    private static final int MAX_STEPS = 10_000;
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final Instant until;
+    private final ZoneId zone;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, Instant until, ZoneId zone) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.zone = zone;
+    }
+
+    static RecurrenceRule of(RecurringReservationRequest req) {
+        Frequency frequency;
+        try {
+            frequency = Frequency.valueOf(String.valueOf(req.getFrequency()).toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("frequency must be DAILY, WEEKLY or MONTHLY.");
+        }
+        int interval = req.getInterval() == null ? 1 : req.getInterval();
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be at least 1.");
+        }
+        if ((req.getCount() == null) == (req.getUntil() == null)) {
+            throw new IllegalArgumentException("Exactly one of count and until is required.");
+        }
+        if (req.getCount() != null && req.getCount() < 1) {
+            throw new IllegalArgumentException("count must be at least 1.");
+        }
+        ZoneId zone;
+        try {
+            zone = req.getZone() == null || req.getZone().isBlank() ? ZoneOffset.UTC : ZoneId.of(req.getZone());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown zone: " + req.getZone());
+        }
+        Instant until = req.getUntil() == null ? null : Instant.parse(req.getUntil());
+        return new RecurrenceRule(frequency, interval, req.getCount(), until, zone);
+    }
+
+    /** The occurrences of [firstStart, firstEnd), failing if there are more than {@code limit}. */
+    List<TimeWindow> expand(Instant firstStart, Instant firstEnd, int limit) {
+        Duration length = Duration.between(firstStart, firstEnd);
+        ZonedDateTime origin = firstStart.atZone(zone);
+        List<TimeWindow> occurrences = new ArrayList<>();
+        for (int step = 0; step < MAX_STEPS; step++) {
+            if (count != null && occurrences.size() == count) break;
+            ZonedDateTime start = advance(origin, (long) step * interval);
+            if (until != null && start.toInstant().isAfter(until)) break;
+            if (frequency == Frequency.MONTHLY && start.getDayOfMonth() != origin.getDayOfMonth()) continue;
+            if (occurrences.size() == limit) {
+                throw new IllegalArgumentException("Series exceeds the maximum of " + limit + " occurrences.");
+            }
+            occurrences.add(new TimeWindow(start.toInstant(), start.toInstant().plus(length)));
+        }
+        return occurrences;
+    }
+
+    private ZonedDateTime advance(ZonedDateTime origin, long amount) {
+        return switch (frequency) {
+            case DAILY -> origin.plusDays(amount);
+            case WEEKLY -> origin.plusWeeks(amount);
+            case MONTHLY -> origin.plusMonths(amount);
+        };
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.booking.service;
+
+import com.example.booking.dto.AuthResponse;
+import com.example.booking.model.RefreshToken;
+import com.example.booking.model.User;
+import com.example.booking.repository.RefreshTokenRepository;
+import com.example.booking.security.JwtUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Issues short-lived access tokens together with rotating refresh tokens.
+ *
+ * Refresh tokens are 256 random bits, so a single SHA-256 digest is enough to store them safely and look
+ * them up by index: renewing a session costs one indexed read and two writes, never a password hash.
+ */
+@Service
+public class RefreshTokenService {
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final String INVALID = "Invalid or expired refresh token";
+
+    private final RefreshTokenRepository repository;
+    private final JwtUtil jwtUtil;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository repository, JwtUtil jwtUtil, Environment env) {
+        this.repository = repository;
+        this.jwtUtil = jwtUtil;
+        this.ttl = Duration.ofMillis(env.getProperty("jwt.refresh.ttl-ms", Long.class, Duration.ofDays(14).toMillis()));
+    }
+
+    /** Starts a new session (token family) for a user who just proved their password. */
+    @Transactional
+    public AuthResponse login(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Redeems a refresh token for a new access token and a successor refresh token. Presenting a token that was
+     * already redeemed revokes its whole family, so a stolen token and the legitimate one both stop working.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public AuthResponse refresh(String rawToken) {
+        RefreshToken current = find(rawToken);
+        Instant now = Instant.now();
+        if (current.getRevokedAt() != null || repository.revoke(current.getId(), now) == 0) {
+            log.warn("Refresh token reuse detected for user={}, revoking session family", current.getUser().getUsername());
+            repository.revokeFamily(current.getFamily(), now);
+            throw new BadCredentialsException(INVALID);
+        }
+        if (current.getExpiresAt().isBefore(now) || !current.getUser().isEnabled()) {
+            throw new BadCredentialsException(INVALID);
+        }
+        return issue(current.getUser(), current.getFamily());
+    }
+
+    /** Ends the session the token belongs to; unknown tokens are ignored. */
+    @Transactional
+    public void logout(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) return;
+        repository.findByTokenHash(digest(rawToken))
+                .ifPresent(t -> repository.revokeFamily(t.getFamily(), Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int removed = repository.deleteExpiredBefore(Instant.now());
+        if (removed > 0) {
+            log.info("Purged {} expired refresh tokens", removed);
+        }
+    }
+
+    private RefreshToken find(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new BadCredentialsException(INVALID);
+        }
+        return repository.findByTokenHash(digest(rawToken)).orElseThrow(() -> new BadCredentialsException(INVALID));
+    }
+
+    private AuthResponse issue(User user, String family) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String raw = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(digest(raw));
+        token.setFamily(family);
+        token.setUser(user);
+        token.setExpiresAt(Instant.now().plus(ttl));
+        repository.save(token);
+
+        Set<String> roles = user.getRoles().stream().map(Enum::name).collect(Collectors.toSet());
+        String access = jwtUtil.generateToken(user.getId(), user.getUsername(), roles);
+        return new AuthResponse(access, raw, jwtUtil.getExpirationMs() / 1000);
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
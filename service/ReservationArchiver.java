@@ -0,0 +1,113 @@
+package com.example.booking.service;
+
+import com.example.booking.repository.ArchivedReservationRepository;
+import com.example.booking.repository.ReservationInterval;
+import com.example.booking.repository.ReservationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Moves reservations that ended more than {@code booking.archive.horizon-days} ago (default 180) from
+ * {@code reservations} to {@code reservations_archive}, so the hot table and its indexes only grow with
+ * recent and future bookings.
+ *
+ * Each batch of {@code booking.archive.batch-size} rows is copied and deleted in its own transaction, under the
+ * lock stripes of its resources, so a concurrent update either lands before the copy or finds the row gone.
+ * Rollups are left alone: archived reservations still count in the reports.
+ */
+@Service
+public class ReservationArchiver {
+    private static final Logger log = LoggerFactory.getLogger(ReservationArchiver.class);
+
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archiveRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final ResourceLocks resourceLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final int batchSize;
+
+    public ReservationArchiver(ReservationRepository reservationRepository, ArchivedReservationRepository archiveRepository,
+                               AvailabilityIndex availabilityIndex, ResourceLocks resourceLocks,
+                               PlatformTransactionManager transactionManager, Environment env) {
+        this.reservationRepository = reservationRepository;
+        this.archiveRepository = archiveRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.resourceLocks = resourceLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = env.getProperty("booking.archive.enabled", Boolean.class, true);
+        this.horizon = Duration.ofDays(env.getProperty("booking.archive.horizon-days", Long.class, 180L));
+        this.batchSize = Math.max(1, env.getProperty("booking.archive.batch-size", Integer.class, 500));
+    }
+
+    @Scheduled(initialDelayString = "${booking.archive.initial-delay-ms:60000}", fixedDelayString = "${booking.archive.interval-ms:3600000}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /** Archives everything past the horizon, batch by batch; returns the number of reservations moved. */
+    public int archive() {
+        Instant cutoff = Instant.now().minus(horizon);
+        long startedAt = System.currentTimeMillis();
+        int moved = 0;
+        List<ReservationInterval> batch;
+        do {
+            batch = reservationRepository.findIntervalsEndedBefore(cutoff, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) break;
+            moved += archiveBatch(batch, cutoff);
+        } while (batch.size() == batchSize);
+        if (moved > 0) {
+            log.info("Archived {} reservations that ended before {} in {} ms", moved, cutoff, System.currentTimeMillis() - startedAt);
+        }
+        return moved;
+    }
+
+    private int archiveBatch(List<ReservationInterval> batch, Instant cutoff) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        Set<Long> resourceIds = new HashSet<>();
+        for (ReservationInterval r : batch) {
+            ids.add(r.getId());
+            resourceIds.add(r.getResourceId());
+        }
+        List<Lock> locks = resourceLocks.forResources(resourceIds);
+        locks.forEach(Lock::lock);
+        try {
+            // re-checked under the locks: a row updated into the future since it was selected stays hot
+            List<Long> due = transactionTemplate.execute(tx -> {
+                List<Long> ended = reservationRepository.findIdsEndedBefore(ids, cutoff);
+                if (!ended.isEmpty()) {
+                    archiveRepository.copyFromReservations(ended, Instant.now());
+                    reservationRepository.deleteByIds(ended);
+                }
+                return ended;
+            });
+            // ended intervals never affect an admission decision again, they only take memory
+            Set<Long> archived = new HashSet<>(due);
+            for (ReservationInterval r : batch) {
+                if (archived.contains(r.getId())) availabilityIndex.remove(r.getResourceId(), r.getId());
+            }
+            return archived.size();
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+}
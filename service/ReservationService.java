@@ -1,96 +1,662 @@
 package com.example.booking.service;
 
+import com.example.booking.dto.CursorPage;
+import com.example.booking.dto.OccurrenceResult;
+import com.example.booking.dto.RecurringReservationRequest;
 import com.example.booking.dto.ReservationRequest;
+import com.example.booking.dto.ReservationResponse;
+import com.example.booking.dto.SeriesReservationResponse;
+import com.example.booking.dto.TimeWindow;
+import com.example.booking.exception.ConflictException;
 import com.example.booking.exception.ResourceNotFoundException;
 import com.example.booking.model.*;
 import com.example.booking.repository.ReservationRepository;
 import com.example.booking.repository.ResourceRepository;
 import com.example.booking.repository.UserRepository;
+import com.example.booking.spec.ReservationCursor;
 import com.example.booking.spec.ReservationSpecification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 public class ReservationService {
+    private static final String OVERLAP_MESSAGE = "Time range overlaps with an existing CONFIRMED reservation.";
+    private static final String CAPACITY_MESSAGE = "Resource is fully booked (capacity %d) for part of the requested time range.";
+    private static final int MAX_CURSOR_PAGE_SIZE = 1000;
+    private static final int MAX_ARCHIVE_WINDOW = 10_000;
+
     private final ReservationRepository reservationRepository;
     private final ResourceRepository resourceRepository;
     private final UserRepository userRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final BookingAdmission admission;
+    private final RollupService rollupService;
+    private final ResourceLocks resourceLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final int maxBatchSize;
+    private final int exportFetchSize;
+    private final Timer createTimer;
+    private final Timer admissionTimer;
+    private final Timer listTimer;
+    private final Counter rejectedSingle;
+    private final Counter rejectedBatch;
+    private final Counter rejectedQueued;
+    private final Counter rejectedUpdate;
+    private final Counter rejectedSeries;
 
-    public ReservationService(ReservationRepository r, ResourceRepository resRepo, UserRepository uRepo) {
+    public ReservationService(ReservationRepository r, ResourceRepository resRepo, UserRepository uRepo,
+                              AvailabilityIndex availabilityIndex, BookingAdmission admission, RollupService rollupService,
+                              ResourceLocks resourceLocks, PlatformTransactionManager transactionManager, Environment env,
+                              MeterRegistry meterRegistry) {
         this.reservationRepository = r;
         this.resourceRepository = resRepo;
         this.userRepository = uRepo;
+        this.availabilityIndex = availabilityIndex;
+        this.admission = admission;
+        this.rollupService = rollupService;
+        this.resourceLocks = resourceLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.maxBatchSize = env.getProperty("booking.batch.max-size", Integer.class, 500);
+        this.exportFetchSize = env.getProperty("booking.export.fetch-size", Integer.class, 1000);
+        this.createTimer = Timer.builder("booking.reservation.create").description("Single booking, including lock wait and commit").register(meterRegistry);
+        this.admissionTimer = Timer.builder("booking.reservation.admission").description("Capacity/overlap check of a single booking").register(meterRegistry);
+        this.listTimer = Timer.builder("booking.reservation.list").register(meterRegistry);
+        this.rejectedSingle = Counter.builder("booking.reservation.rejected").tag("source", "single").register(meterRegistry);
+        this.rejectedBatch = Counter.builder("booking.reservation.rejected").tag("source", "batch").register(meterRegistry);
+        this.rejectedQueued = Counter.builder("booking.reservation.rejected").tag("source", "queue").register(meterRegistry);
+        this.rejectedUpdate = Counter.builder("booking.reservation.rejected").tag("source", "update").register(meterRegistry);
+        this.rejectedSeries = Counter.builder("booking.reservation.rejected").tag("source", "series").register(meterRegistry);
+    }
+
+    /**
+     * The capacity check and the insert must be atomic per resource, so the transaction runs (and commits)
+     * while the resource's lock stripe is held. Bookings on other stripes proceed in parallel.
+     *
+     * The resource row is read and locked inside the transaction, so the capacity checked is the committed one and
+     * no other instance books the resource until the commit. With {@code userId} from the token the user is attached as an unloaded reference; tokens without
+     * an id fall back to looking the user up by name.
+     */
+    public ReservationResponse create(String username, Long userId, ReservationRequest req, boolean allowOverlapPrevention) {
+        if (req.getResourceId() == null) {
+            throw new IllegalArgumentException("resourceId is required.");
+        }
+        return createTimer.record(() -> {
+            Lock lock = resourceLocks.forResource(req.getResourceId());
+            lock.lock();
+            try {
+                return transactionTemplate.execute(tx -> doCreate(username, userId, req, allowOverlapPrevention));
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    private ReservationResponse doCreate(String username, Long userId, ReservationRequest req, boolean allowOverlapPrevention) {
+        ResourceEntity resource = lockResource(req.getResourceId());
+        var user = userReference(username, userId);
+
+        Reservation r = newReservation(req, resource, user);
+
+        // optional capacity check: peak concurrent CONFIRMED bookings must stay below capacity
+        if (allowOverlapPrevention && !admissionTimer.record(() -> admission.admits(resource, r.getStartTime(), r.getEndTime()))) {
+            rejectedSingle.increment();
+            throw new IllegalArgumentException(rejectionMessage(resource.getCapacity()));
+        }
+
+        Reservation saved = reservationRepository.save(r);
+        rollupService.record(null, RollupService.Contribution.of(saved));
+        afterCommit(() -> availabilityIndex.track(saved));
+        if (saved.getStatus() == ReservationStatus.CONFIRMED) {
+            booked(List.of(resource));
+        }
+        return response(saved, resource, user.getId(), username);
+    }
+
+    /**
+     * Reads and row-locks the resource for a booking write: the lock keeps other instances from booking it until
+     * this transaction commits, and the row carries the capacity and booking version admission needs.
+     */
+    private ResourceEntity lockResource(Long resourceId) {
+        List<ResourceEntity> locked = resourceRepository.lockForBooking(List.of(resourceId));
+        if (locked.isEmpty()) {
+            throw new ResourceNotFoundException("Resource not found: " + resourceId);
+        }
+        return locked.get(0);
+    }
+
+    /**
+     * Records a write that changed CONFIRMED bookings on the locked resources, so other instances reload them
+     * before their next check; once it commits, this instance's index has it and moves to the new version.
+     * Must be called after the write's {@code track} callbacks are registered.
+     */
+    private void booked(Collection<ResourceEntity> locked) {
+        if (locked.isEmpty()) return;
+        resourceRepository.incrementBookingVersion(locked.stream().map(ResourceEntity::getId).toList());
+        Map<Long, Long> versions = new HashMap<>();
+        locked.forEach(res -> versions.put(res.getId(), res.getBookingVersion()));
+        afterCommit(() -> versions.forEach(availabilityIndex::advance));
+    }
+
+    private static List<ResourceEntity> confirmedOn(List<Reservation> accepted) {
+        Map<Long, ResourceEntity> resources = new HashMap<>();
+        for (Reservation r : accepted) {
+            if (r.getStatus() == ReservationStatus.CONFIRMED) resources.put(r.getResource().getId(), r.getResource());
+        }
+        return new ArrayList<>(resources.values());
+    }
+
+    /** Built from what is already known; reading the username through the user reference would load it. */
+    private static ReservationResponse response(Reservation saved, ResourceEntity resource, Long userId, String username) {
+        ReservationResponse response = new ReservationResponse();
+        response.setId(saved.getId());
+        response.setResourceId(resource.getId());
+        response.setResourceName(resource.getName());
+        response.setUserId(userId);
+        response.setUsername(username);
+        response.setStatus(saved.getStatus().name());
+        response.setPrice(saved.getPrice());
+        response.setStartTime(saved.getStartTime());
+        response.setEndTime(saved.getEndTime());
+        response.setCreatedAt(saved.getCreatedAt());
+        response.setUpdatedAt(saved.getUpdatedAt());
+        response.setVersion(saved.getVersion());
+        return response;
+    }
+
+    /**
+     * Books a run of queued requests for one resource in one transaction under its lock stripe, deciding them in
+     * arrival order like a non-atomic batch. Outcomes are recorded on the items; the queue publishes them once this
+     * returns, after the commit. Users are attached by reference when the token carried their id.
+     */
+    public void createQueued(Long resourceId, List<QueuedBooking> items) {
+        Lock lock = resourceLocks.forResource(resourceId);
+        lock.lock();
+        try {
+            transactionTemplate.executeWithoutResult(tx -> doCreateQueued(resourceId, items));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void doCreateQueued(Long resourceId, List<QueuedBooking> items) {
+        ResourceEntity resource;
+        try {
+            resource = lockResource(resourceId);
+        } catch (ResourceNotFoundException e) {
+            items.forEach(item -> item.rejected(e.getMessage()));
+            return;
+        }
+        Map<String, User> users = new HashMap<>();
+        List<Reservation> parsed = new ArrayList<>(items.size());
+        for (QueuedBooking item : items) {
+            try {
+                User user = users.computeIfAbsent(item.getUsername(), username -> userReference(username, item.getUserId()));
+                parsed.add(newReservation(item.getRequest(), resource, user));
+            } catch (IllegalArgumentException | DateTimeParseException | ResourceNotFoundException e) {
+                parsed.add(null);
+                item.rejected(e.getMessage());
+            }
+        }
+
+        BookingAdmission.Session session = admissionSession(parsed);
+        List<Reservation> accepted = new ArrayList<>();
+        List<QueuedBooking> acceptedItems = new ArrayList<>();
+        for (int i = 0; i < parsed.size(); i++) {
+            Reservation r = parsed.get(i);
+            if (r == null) continue;
+            if (!session.admit(-1L - i, resourceId, resource.getCapacity(), r.getStartTime(), r.getEndTime(),
+                    r.getStatus() == ReservationStatus.CONFIRMED)) {
+                rejectedQueued.increment();
+                items.get(i).rejected(rejectionMessage(resource.getCapacity()));
+                continue;
+            }
+            accepted.add(r);
+            acceptedItems.add(items.get(i));
+        }
+
+        reservationRepository.saveAll(accepted);
+        rollupService.recordAll(accepted);
+        afterCommit(() -> accepted.forEach(availabilityIndex::track));
+        booked(confirmedOn(accepted));
+        for (int i = 0; i < accepted.size(); i++) {
+            QueuedBooking item = acceptedItems.get(i);
+            item.accepted(response(accepted.get(i), resource, accepted.get(i).getUser().getId(), item.getUsername()));
+        }
+    }
+
+    /**
+     * Creates many reservations for one user in a single transaction. The user and resources are resolved once,
+     * every item is checked in arrival order against the resource's capacity, counting stored CONFIRMED bookings
+     * and the CONFIRMED items accepted before it, and the survivors are inserted with JDBC batching.
+     *
+     * With {@code atomic} any failing item means nothing is written; otherwise the valid items are kept.
+     */
+    public List<BatchItem> createBatch(String username, List<ReservationRequest> items, boolean atomic) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one reservation.");
+        }
+        if (items.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch exceeds the maximum of " + maxBatchSize + " reservations.");
+        }
+        Set<Long> resourceIds = new TreeSet<>();
+        for (ReservationRequest req : items) {
+            if (req != null && req.getResourceId() != null) resourceIds.add(req.getResourceId());
+        }
+
+        List<Lock> locks = resourceLocks.forResources(resourceIds);
+        locks.forEach(Lock::lock);
+        try {
+            return transactionTemplate.execute(tx -> doCreateBatch(username, items, resourceIds, atomic));
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
     }
 
-    @Transactional
-    public Reservation create(String username, ReservationRequest req, boolean allowOverlapPrevention) {
-        var resource = resourceRepository.findById(req.getResourceId()).orElseThrow(() -> new ResourceNotFoundException("Resource not found: " + req.getResourceId()));
+    private List<BatchItem> doCreateBatch(String username, List<ReservationRequest> items, Set<Long> resourceIds, boolean atomic) {
         var user = userRepository.findByUsername(username).orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+        Map<Long, ResourceEntity> resources = new HashMap<>();
+        resourceRepository.lockForBooking(resourceIds).forEach(res -> resources.put(res.getId(), res));
 
-        Instant start = Instant.parse(req.getStartTime());
-        Instant end = Instant.parse(req.getEndTime());
+        List<Reservation> parsed = new ArrayList<>(items.size());
+        List<BatchItem> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            ReservationRequest req = items.get(i);
+            try {
+                if (req == null || req.getResourceId() == null) {
+                    throw new IllegalArgumentException("resourceId is required.");
+                }
+                ResourceEntity resource = resources.get(req.getResourceId());
+                if (resource == null) {
+                    throw new ResourceNotFoundException("Resource not found: " + req.getResourceId());
+                }
+                parsed.add(newReservation(req, resource, user));
+                results.add(null);
+            } catch (IllegalArgumentException | DateTimeParseException | ResourceNotFoundException e) {
+                parsed.add(null);
+                results.add(BatchItem.failed(i, e.getMessage()));
+            }
+        }
 
-        // optional overlap prevention
-        if (allowOverlapPrevention) {
-            List<Reservation> conflicts = reservationRepository.findOverlappingReservations(resource.getId(), ReservationStatus.CONFIRMED, start, end);
-            if (!conflicts.isEmpty()) {
-                throw new IllegalArgumentException("Time range overlaps with an existing CONFIRMED reservation.");
+        BookingAdmission.Session session = admissionSession(parsed);
+        List<Reservation> accepted = new ArrayList<>();
+        for (int i = 0; i < parsed.size(); i++) {
+            Reservation r = parsed.get(i);
+            if (r == null) continue;
+            ResourceEntity resource = r.getResource();
+            // not persisted yet, so key the interval by its (negative) batch position
+            if (!session.admit(-1L - i, resource.getId(), resource.getCapacity(), r.getStartTime(), r.getEndTime(),
+                    r.getStatus() == ReservationStatus.CONFIRMED)) {
+                rejectedBatch.increment();
+                results.set(i, BatchItem.failed(i, rejectionMessage(resource.getCapacity())));
+                continue;
             }
+            accepted.add(r);
+            results.set(i, BatchItem.accepted(i, r));
+        }
+        // decided before anything is written, so a rejected atomic batch costs no inserts or rollup updates
+        if (atomic && accepted.size() < items.size()) {
+            return results;
+        }
+
+        reservationRepository.saveAll(accepted);
+        rollupService.recordAll(accepted);
+        afterCommit(() -> accepted.forEach(availabilityIndex::track));
+        booked(confirmedOn(accepted));
+        return results;
+    }
+
+    /**
+     * Books every occurrence of a recurring reservation in one transaction under the resource's lock stripe.
+     * Occurrences are checked in order by one admission session, which takes the stored CONFIRMED bookings from
+     * the availability index (or one range query over the series window) and counts the occurrences admitted
+     * before them; the accepted ones are inserted in one JDBC batch. Without {@code skipConflicts} any conflict
+     * rejects the series and nothing is written.
+     */
+    public SeriesReservationResponse createSeries(String username, Long userId, RecurringReservationRequest req) {
+        if (req.getResourceId() == null) {
+            throw new IllegalArgumentException("resourceId is required.");
+        }
+        Instant firstStart = Instant.parse(req.getStartTime());
+        Instant firstEnd = Instant.parse(req.getEndTime());
+        if (!firstEnd.isAfter(firstStart)) {
+            throw new IllegalArgumentException("endTime must be after startTime.");
+        }
+        ReservationStatus status = req.getStatus() != null ? ReservationStatus.valueOf(req.getStatus()) : ReservationStatus.PENDING;
+        List<TimeWindow> occurrences = RecurrenceRule.of(req).expand(firstStart, firstEnd, maxBatchSize);
+        if (occurrences.isEmpty()) {
+            throw new IllegalArgumentException("until is before the first occurrence.");
+        }
+
+        Lock lock = resourceLocks.forResource(req.getResourceId());
+        lock.lock();
+        try {
+            return transactionTemplate.execute(tx -> doCreateSeries(username, userId, req, status, occurrences));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private SeriesReservationResponse doCreateSeries(String username, Long userId, RecurringReservationRequest req,
+                                                     ReservationStatus status, List<TimeWindow> occurrences) {
+        ResourceEntity resource = lockResource(req.getResourceId());
+        var user = userReference(username, userId);
+        String seriesId = UUID.randomUUID().toString();
+
+        List<Reservation> parsed = new ArrayList<>(occurrences.size());
+        for (TimeWindow window : occurrences) {
+            Reservation r = new Reservation();
+            r.setResource(resource);
+            r.setUser(user);
+            r.setPrice(req.getPrice());
+            r.setStartTime(window.getStart());
+            r.setEndTime(window.getEnd());
+            r.setStatus(status);
+            r.setSeriesId(seriesId);
+            parsed.add(r);
+        }
+
+        BookingAdmission.Session session = admissionSession(parsed);
+        List<OccurrenceResult> results = new ArrayList<>(parsed.size());
+        List<Reservation> accepted = new ArrayList<>();
+        for (int i = 0; i < parsed.size(); i++) {
+            Reservation r = parsed.get(i);
+            OccurrenceResult result = new OccurrenceResult(i, r.getStartTime(), r.getEndTime());
+            if (session.admit(-1L - i, resource.getId(), resource.getCapacity(), r.getStartTime(), r.getEndTime(), status == ReservationStatus.CONFIRMED)) {
+                accepted.add(r);
+            } else {
+                result.setOutcome("CONFLICT");
+                result.setError(rejectionMessage(resource.getCapacity()));
+            }
+            results.add(result);
+        }
+        int conflicts = parsed.size() - accepted.size();
+        if (conflicts > 0) {
+            rejectedSeries.increment(conflicts);
         }
 
+        SeriesReservationResponse response = new SeriesReservationResponse();
+        response.setConflicts(conflicts);
+        response.setResults(results);
+        if (conflicts > 0 && !req.isSkipConflicts()) {
+            results.stream().filter(result -> result.getOutcome() == null).forEach(result -> result.setOutcome("NOT_CREATED"));
+            return response;
+        }
+
+        reservationRepository.saveAll(accepted);
+        rollupService.recordAll(accepted);
+        afterCommit(() -> accepted.forEach(availabilityIndex::track));
+        booked(confirmedOn(accepted));
+        int next = 0;
+        for (OccurrenceResult result : results) {
+            if (result.getOutcome() != null) continue;
+            result.setOutcome("CREATED");
+            result.setReservation(response(accepted.get(next++), resource, user.getId(), username));
+        }
+        response.setCreated(accepted.size());
+        response.setSeriesId(accepted.isEmpty() ? null : seriesId);
+        return response;
+    }
+
+    private User userReference(String username, Long userId) {
+        return userId != null
+                ? userRepository.getReferenceById(userId)
+                : userRepository.findByUsername(username).orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+    }
+
+    private Reservation newReservation(ReservationRequest req, ResourceEntity resource, User user) {
         Reservation r = new Reservation();
         r.setResource(resource);
         r.setUser(user);
         r.setPrice(req.getPrice());
-        r.setStartTime(start);
-        r.setEndTime(end);
+        r.setStartTime(Instant.parse(req.getStartTime()));
+        r.setEndTime(Instant.parse(req.getEndTime()));
+        if (!r.getEndTime().isAfter(r.getStartTime())) {
+            throw new IllegalArgumentException("endTime must be after startTime.");
+        }
         // status: if provided (admins), else default PENDING
         if (req.getStatus() != null) {
             r.setStatus(ReservationStatus.valueOf(req.getStatus()));
         } else {
             r.setStatus(ReservationStatus.PENDING);
         }
-        return reservationRepository.save(r);
+        return r;
     }
 
-    public Page<Reservation> list(String requestingUsername, boolean isAdmin,
+    public Page<ReservationResponse> list(String requestingUsername, boolean isAdmin,
                                   ReservationStatus status, BigDecimal minPrice, BigDecimal maxPrice,
-                                  int page, int size, String sort) {
+                                  int page, int size, String sort, boolean includeArchived) {
 
+        Specification<Reservation> spec = ReservationSpecification.build(requestingUsername, isAdmin, status, minPrice, maxPrice);
+        if (includeArchived) {
+            return listTimer.record(() -> listIncludingArchived(spec, page, size, sort));
+        }
         Pageable pageable = createPageable(page, size, sort);
+        return listTimer.record(() -> reservationRepository.findResponses(spec, pageable));
+    }
+
+    /**
+     * Reads the first {@code (page + 1) * size} rows of both tables in the same order and merges them, so the cost
+     * grows with the page number; sorting is limited to the cursor sort fields, which have a total order.
+     */
+    private Page<ReservationResponse> listIncludingArchived(Specification<Reservation> spec, int page, int size, String sort) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("page must not be negative and size must be positive");
+        }
+        if ((long) (page + 1) * size > MAX_ARCHIVE_WINDOW) {
+            throw new IllegalArgumentException("includeArchived lists at most the first " + MAX_ARCHIVE_WINDOW + " reservations; narrow the filters");
+        }
+        ReservationCursor order = ReservationCursor.start(sort);
+        Pageable window = PageRequest.of(0, (page + 1) * size, order.toSort());
+        Page<ReservationResponse> hot = reservationRepository.findResponses(spec, window);
+        Page<ReservationResponse> archived = reservationRepository.findArchivedResponses(spec, window);
+
+        List<ReservationResponse> merged = new ArrayList<>(hot.getContent());
+        merged.addAll(archived.getContent());
+        merged.sort(order.comparator());
+        int from = Math.min(page * size, merged.size());
+        List<ReservationResponse> content = merged.subList(from, Math.min(from + size, merged.size()));
+        return new PageImpl<>(content, PageRequest.of(page, size, order.toSort()), hot.getTotalElements() + archived.getTotalElements());
+    }
+
+    /**
+     * Keyset pagination: seeks past the last returned {@code (sortKey, id)} instead of using OFFSET,
+     * and fetches one extra row to detect the next page instead of issuing a count query.
+     * A blank cursor starts at the first page using {@code sort}; later pages keep the cursor's sort.
+     */
+    public CursorPage<ReservationResponse> scroll(String requestingUsername, boolean isAdmin,
+                                          ReservationStatus status, BigDecimal minPrice, BigDecimal maxPrice,
+                                          String cursor, int size, String sort) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        ReservationCursor position = cursor == null || cursor.isBlank() ? ReservationCursor.start(sort) : ReservationCursor.decode(cursor);
+        Specification<Reservation> spec = ReservationSpecification.build(requestingUsername, isAdmin, status, minPrice, maxPrice)
+                .and(ReservationSpecification.after(position));
+
+        List<ReservationResponse> rows = reservationRepository.findResponseSlice(spec, position.toSort(), size + 1);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<ReservationResponse> content = rows.subList(0, size);
+        return new CursorPage<>(content, position.after(content.get(size - 1)).encode());
+    }
+
+    /** Validates an export sort up front ({@code id,asc} if blank), so bad input fails before anything is streamed. */
+    public Sort exportSort(String sort) {
+        return ReservationCursor.start(sort == null || sort.isBlank() ? "id,asc" : sort).toSort();
+    }
+
+    /**
+     * Hands every reservation matching the list filters to {@code sink}, in {@code sort} order, from one forward-only
+     * query in a read-only transaction. Rows are fetched {@code booking.export.fetch-size} at a time and are not
+     * retained, so memory stays flat regardless of the number of rows.
+     */
+    public void export(String requestingUsername, boolean isAdmin,
+                       ReservationStatus status, BigDecimal minPrice, BigDecimal maxPrice,
+                       Sort sort, Consumer<ReservationResponse> sink) {
         Specification<Reservation> spec = ReservationSpecification.build(requestingUsername, isAdmin, status, minPrice, maxPrice);
-        return reservationRepository.findAll(spec, pageable);
+        readOnlyTx.executeWithoutResult(tx -> {
+            try (var rows = reservationRepository.streamResponses(spec, sort, exportFetchSize)) {
+                rows.forEach(sink);
+            }
+        });
     }
 
     public Reservation getById(Long id, String requesterUsername, boolean isAdmin) {
-        var r = reservationRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + id));
+        var r = reservationRepository.findWithResourceAndUserById(id).orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + id));
         if (!isAdmin && !r.getUser().getUsername().equals(requesterUsername)) {
             throw new SecurityException("Not authorized to access this reservation");
         }
         return r;
     }
 
-    @Transactional
+    /** Last modification time of a reservation the requester may read, without loading the reservation. */
+    public Instant getLastModified(Long id, String requesterUsername, boolean isAdmin) {
+        var stamp = reservationRepository.findStampById(id).orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + id));
+        if (!isAdmin && !stamp.getUsername().equals(requesterUsername)) {
+            throw new SecurityException("Not authorized to access this reservation");
+        }
+        return stamp.getUpdatedAt();
+    }
+
+    public ReservationResponse getResponse(Long id, String requesterUsername, boolean isAdmin) {
+        var r = reservationRepository.findResponseById(id).orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + id));
+        if (!isAdmin && !r.getUsername().equals(requesterUsername)) {
+            throw new SecurityException("Not authorized to access this reservation");
+        }
+        return r;
+    }
+
+    /**
+     * Updates and deletes run under the resource's lock stripe too, so rollup rows are never written concurrently.
+     *
+     * A {@code version} in the request must match the stored one, and the version column catches writers outside
+     * this instance; either way the update fails with a conflict carrying the current version. An update that
+     * leaves the reservation CONFIRMED with a new time range, or confirms it, goes through the capacity check with
+     * its own stored interval left out.
+     */
     public Reservation update(Long id, String requesterUsername, boolean isAdmin, ReservationRequest req) {
+        try {
+            return withReservationLock(id, resourceId -> transactionTemplate.execute(tx -> doUpdate(id, resourceId, requesterUsername, isAdmin, req)));
+        } catch (OptimisticLockingFailureException e) {
+            Long current = reservationRepository.findVersionById(id).orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + id));
+            throw new ConflictException("Reservation " + id + " was modified concurrently; current version is " + current, current);
+        }
+    }
+
+    private Reservation doUpdate(Long id, Long resourceId, String requesterUsername, boolean isAdmin, ReservationRequest req) {
+        // locked before the reservation is loaded, so the resource it joins is the fresh, locked row
+        ResourceEntity resource = lockResource(resourceId);
         var r = getById(id, requesterUsername, isAdmin);
+        if (req.getVersion() != null && !req.getVersion().equals(r.getVersion())) {
+            throw new ConflictException("Reservation " + id + " is at version " + r.getVersion() + ", not " + req.getVersion(), r.getVersion());
+        }
+        Instant start = req.getStartTime() != null ? Instant.parse(req.getStartTime()) : r.getStartTime();
+        Instant end = req.getEndTime() != null ? Instant.parse(req.getEndTime()) : r.getEndTime();
+        ReservationStatus status = req.getStatus() != null ? ReservationStatus.valueOf(req.getStatus()) : r.getStatus();
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("endTime must be after startTime.");
+        }
+        boolean moves = status != r.getStatus() || !start.equals(r.getStartTime()) || !end.equals(r.getEndTime());
+        boolean occupiesNewly = status == ReservationStatus.CONFIRMED && moves;
+        boolean changesOccupancy = moves && (status == ReservationStatus.CONFIRMED || r.getStatus() == ReservationStatus.CONFIRMED);
+        if (occupiesNewly && !admissionTimer.record(() -> admission.admitsReplacing(id, resource, start, end))) {
+            rejectedUpdate.increment();
+            throw new IllegalArgumentException(rejectionMessage(resource.getCapacity()));
+        }
+
+        var before = RollupService.Contribution.of(r);
         if (req.getPrice() != null) r.setPrice(req.getPrice());
-        if (req.getStartTime() != null) r.setStartTime(Instant.parse(req.getStartTime()));
-        if (req.getEndTime() != null) r.setEndTime(Instant.parse(req.getEndTime()));
-        if (req.getStatus() != null) r.setStatus(ReservationStatus.valueOf(req.getStatus()));
-        return reservationRepository.save(r);
+        r.setStartTime(start);
+        r.setEndTime(end);
+        r.setStatus(status);
+        // flushed here so a version clash surfaces before the rollups are touched, and the response has the new version
+        Reservation saved = reservationRepository.saveAndFlush(r);
+        rollupService.record(before, RollupService.Contribution.of(saved));
+        afterCommit(() -> availabilityIndex.track(saved));
+        if (changesOccupancy) {
+            booked(List.of(resource));
+        }
+        return saved;
     }
 
     public void delete(Long id, String requesterUsername, boolean isAdmin) {
-        var r = getById(id, requesterUsername, isAdmin);
-        reservationRepository.delete(r);
+        withReservationLock(id, resourceId -> transactionTemplate.execute(tx -> {
+            ResourceEntity resource = lockResource(resourceId);
+            var r = getById(id, requesterUsername, isAdmin);
+            reservationRepository.delete(r);
+            rollupService.record(RollupService.Contribution.of(r), null);
+            afterCommit(() -> availabilityIndex.remove(resourceId, r.getId()));
+            if (r.getStatus() == ReservationStatus.CONFIRMED) {
+                booked(List.of(resource));
+            }
+            return null;
+        }));
+    }
+
+    /** Runs {@code action} with the id of the reservation's resource, under that resource's lock stripe. */
+    private <T> T withReservationLock(Long id, Function<Long, T> action) {
+        Long resourceId = reservationRepository.findResourceIdById(id).orElseThrow(() -> new ResourceNotFoundException("Reservation not found: " + id));
+        Lock lock = resourceLocks.forResource(resourceId);
+        lock.lock();
+        try {
+            return action.apply(resourceId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BookingAdmission.Session admissionSession(List<Reservation> candidates) {
+        Map<Long, ResourceEntity> resources = new HashMap<>();
+        Instant from = null, to = null;
+        for (Reservation r : candidates) {
+            if (r == null) continue;
+            resources.put(r.getResource().getId(), r.getResource());
+            if (from == null || r.getStartTime().isBefore(from)) from = r.getStartTime();
+            if (to == null || r.getEndTime().isAfter(to)) to = r.getEndTime();
+        }
+        return admission.session(resources.values(), from, to);
+    }
+
+    private static String rejectionMessage(Integer resourceCapacity) {
+        int capacity = BookingAdmission.effectiveCapacity(resourceCapacity);
+        return capacity == 1 ? OVERLAP_MESSAGE : String.format(CAPACITY_MESSAGE, capacity);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private Pageable createPageable(int page, int size, String sort) {
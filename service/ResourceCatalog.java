@@ -0,0 +1,74 @@
+package com.example.booking.service;
+
+import com.example.booking.dto.ResourceDto;
+import com.example.booking.model.ResourceEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.DigestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of every resource, mapped once and serialized once so GET /resources can
+ * write the cached bytes as-is.
+ */
+public class ResourceCatalog {
+    private final List<ResourceDto> resources;
+    private final Map<Long, ResourceDto> byId;
+    private final byte[] json;
+    private final String etag;
+
+    private ResourceCatalog(List<ResourceDto> resources, byte[] json) {
+        this.resources = Collections.unmodifiableList(resources);
+        Map<Long, ResourceDto> index = new LinkedHashMap<>();
+        resources.forEach(d -> index.put(d.getId(), d));
+        this.byId = Collections.unmodifiableMap(index);
+        this.json = json;
+        this.etag = "\"cat-" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+
+    static ResourceCatalog of(List<ResourceEntity> entities, ObjectMapper objectMapper) {
+        List<ResourceDto> dtos = new ArrayList<>(entities.size());
+        for (ResourceEntity r : entities) {
+            ResourceDto d = new ResourceDto();
+            d.setId(r.getId());
+            d.setName(r.getName());
+            d.setType(r.getType());
+            d.setDescription(r.getDescription());
+            d.setCapacity(r.getCapacity());
+            d.setActive(r.isActive());
+            dtos.add(d);
+        }
+        try {
+            return new ResourceCatalog(dtos, objectMapper.writeValueAsBytes(dtos));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize resource catalog", e);
+        }
+    }
+
+    public List<ResourceDto> getResources() {
+        return resources;
+    }
+
+    public ResourceDto get(Long id) {
+        return byId.get(id);
+    }
+
+    public boolean contains(Long id) {
+        return byId.containsKey(id);
+    }
+
+    /** Callers must not modify the returned array. */
+    public byte[] getJson() {
+        return json;
+    }
+
+    /** Strong ETag over the serialized bytes. */
+    public String getEtag() {
+        return etag;
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.booking.service;
+
+import com.example.booking.repository.ReservationInterval;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable set of CONFIRMED intervals for one resource, sorted by start, with prefix maxima of their ends.
+ *
+ * Besides plain overlap probes it answers "how many intervals are active at the busiest point of
+ * [start, end)" in O(log n), using an occupancy step function and a max segment tree over it. That
+ * structure is built lazily on the first such query, so writes stay a single array copy.
+ */
+final class ResourceIntervals {
+    static final ResourceIntervals EMPTY = new ResourceIntervals(new long[0], new Instant[0], new Instant[0]);
+
+    final long[] ids;
+    final Instant[] starts;
+    final Instant[] ends;
+    final Instant[] maxEnds;
+    private volatile Occupancy occupancy;
+
+    private ResourceIntervals(long[] ids, Instant[] starts, Instant[] ends) {
+        this.ids = ids;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new Instant[ends.length];
+        for (int i = 0; i < ends.length; i++) {
+            maxEnds[i] = i == 0 || ends[i].isAfter(maxEnds[i - 1]) ? ends[i] : maxEnds[i - 1];
+        }
+    }
+
+    static ResourceIntervals of(Collection<ReservationInterval> rows) {
+        List<ReservationInterval> sorted = new ArrayList<>(rows.size());
+        for (ReservationInterval row : rows) {
+            if (isValid(row.getStartTime(), row.getEndTime())) sorted.add(row);
+        }
+        sorted.sort(Comparator.comparing(ReservationInterval::getStartTime));
+        int n = sorted.size();
+        long[] ids = new long[n];
+        Instant[] starts = new Instant[n];
+        Instant[] ends = new Instant[n];
+        for (int i = 0; i < n; i++) {
+            ReservationInterval row = sorted.get(i);
+            ids[i] = row.getId();
+            starts[i] = row.getStartTime();
+            ends[i] = row.getEndTime();
+        }
+        return new ResourceIntervals(ids, starts, ends);
+    }
+
+    static boolean isValid(Instant start, Instant end) {
+        return start != null && end != null && end.isAfter(start);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    boolean overlaps(Instant start, Instant end) {
+        // intervals [s, e) with s < end are a prefix of the array; one of them overlaps iff the largest e > start
+        int candidates = countStartingBefore(end);
+        return candidates > 0 && maxEnds[candidates - 1].isAfter(start);
+    }
+
+    /** Highest number of intervals simultaneously active anywhere in [start, end). */
+    int peak(Instant start, Instant end) {
+        if (ids.length == 0 || !end.isAfter(start)) return 0;
+        return occupancy().peak(start, end);
+    }
+
+    /** Number of intervals active at {@code instant}. */
+    int countAt(Instant instant) {
+        if (ids.length == 0) return 0;
+        return occupancy().countAt(instant);
+    }
+
+    /** Visits intervals overlapping [from, to) in start order, without copying. */
+    void forEachOverlapping(Instant from, Instant to, BiConsumer<Instant, Instant> visitor) {
+        // maxEnds is non-decreasing: everything before the first maxEnd > from ends at or before from
+        int lo = 0, hi = maxEnds.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid].isAfter(from)) hi = mid;
+            else lo = mid + 1;
+        }
+        for (int i = lo; i < starts.length && starts[i].isBefore(to); i++) {
+            if (ends[i].isAfter(from)) {
+                visitor.accept(starts[i], ends[i]);
+            }
+        }
+    }
+
+    /** Number of intervals whose start is strictly before {@code instant}. */
+    int countStartingBefore(Instant instant) {
+        return lowerBound(starts, instant);
+    }
+
+    ResourceIntervals with(long id, Instant start, Instant end) {
+        ResourceIntervals base = without(id);
+        int at = base.countStartingBefore(start);
+        int n = base.size();
+        long[] ids = new long[n + 1];
+        Instant[] starts = new Instant[n + 1];
+        Instant[] ends = new Instant[n + 1];
+        System.arraycopy(base.ids, 0, ids, 0, at);
+        System.arraycopy(base.starts, 0, starts, 0, at);
+        System.arraycopy(base.ends, 0, ends, 0, at);
+        ids[at] = id;
+        starts[at] = start;
+        ends[at] = end;
+        System.arraycopy(base.ids, at, ids, at + 1, n - at);
+        System.arraycopy(base.starts, at, starts, at + 1, n - at);
+        System.arraycopy(base.ends, at, ends, at + 1, n - at);
+        return new ResourceIntervals(ids, starts, ends);
+    }
+
+    ResourceIntervals withAll(ResourceIntervals other) {
+        ResourceIntervals merged = this;
+        for (int i = 0; i < other.size(); i++) {
+            merged = merged.with(other.ids[i], other.starts[i], other.ends[i]);
+        }
+        return merged;
+    }
+
+    ResourceIntervals without(long id) {
+        int at = -1;
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == id) {
+                at = i;
+                break;
+            }
+        }
+        if (at < 0) return this;
+        int n = ids.length;
+        long[] nextIds = new long[n - 1];
+        Instant[] nextStarts = new Instant[n - 1];
+        Instant[] nextEnds = new Instant[n - 1];
+        System.arraycopy(ids, 0, nextIds, 0, at);
+        System.arraycopy(starts, 0, nextStarts, 0, at);
+        System.arraycopy(ends, 0, nextEnds, 0, at);
+        System.arraycopy(ids, at + 1, nextIds, at, n - at - 1);
+        System.arraycopy(starts, at + 1, nextStarts, at, n - at - 1);
+        System.arraycopy(ends, at + 1, nextEnds, at, n - at - 1);
+        return new ResourceIntervals(nextIds, nextStarts, nextEnds);
+    }
+
+    private Occupancy occupancy() {
+        Occupancy o = occupancy;
+        if (o == null) {
+            // benign race: concurrent readers may build identical copies
+            o = Occupancy.build(starts, ends);
+            occupancy = o;
+        }
+        return o;
+    }
+
+    /** Index of the first element not before {@code instant} (= number of elements strictly before it). */
+    private static int lowerBound(Instant[] sorted, Instant instant) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].isBefore(instant)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Number of elements at or before {@code instant}. */
+    private static int upperBound(Instant[] sorted, Instant instant) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].isAfter(instant)) hi = mid;
+            else lo = mid + 1;
+        }
+        return lo;
+    }
+
+    /**
+     * Step function of concurrent occupancy: {@code counts[i]} intervals are active on [points[i], points[i + 1]),
+     * and zero before the first point. {@code tree} is an iterative max segment tree over {@code counts}.
+     */
+    private static final class Occupancy {
+        final Instant[] points;
+        final int[] counts;
+        final int[] tree;
+
+        private Occupancy(Instant[] points, int[] counts) {
+            this.points = points;
+            this.counts = counts;
+            int m = counts.length;
+            this.tree = new int[2 * m];
+            System.arraycopy(counts, 0, tree, m, m);
+            for (int i = m - 1; i > 0; i--) {
+                tree[i] = Math.max(tree[2 * i], tree[2 * i + 1]);
+            }
+        }
+
+        static Occupancy build(Instant[] starts, Instant[] ends) {
+            int n = starts.length;
+            Instant[] sortedEnds = ends.clone();
+            Arrays.sort(sortedEnds);
+            Instant[] points = new Instant[2 * n];
+            int[] counts = new int[2 * n];
+            int m = 0, active = 0, i = 0, j = 0;
+            while (i < n || j < n) {
+                Instant p = j >= n || (i < n && starts[i].isBefore(sortedEnds[j])) ? starts[i] : sortedEnds[j];
+                // half-open intervals: everything starting or ending at p is applied before p's count is recorded
+                while (i < n && starts[i].equals(p)) {
+                    active++;
+                    i++;
+                }
+                while (j < n && sortedEnds[j].equals(p)) {
+                    active--;
+                    j++;
+                }
+                points[m] = p;
+                counts[m] = active;
+                m++;
+            }
+            return new Occupancy(Arrays.copyOf(points, m), Arrays.copyOf(counts, m));
+        }
+
+        int countAt(Instant instant) {
+            int segment = upperBound(points, instant) - 1;
+            return segment < 0 ? 0 : counts[segment];
+        }
+
+        int peak(Instant start, Instant end) {
+            int last = lowerBound(points, end) - 1;       // last segment starting before end
+            if (last < 0) return 0;
+            int first = Math.max(upperBound(points, start) - 1, 0); // segment containing start
+            return max(first, last);
+        }
+
+        private int max(int from, int to) {
+            int m = counts.length;
+            int result = 0;
+            for (int l = from + m, r = to + m + 1; l < r; l >>= 1, r >>= 1) {
+                if ((l & 1) == 1) result = Math.max(result, tree[l++]);
+                if ((r & 1) == 1) result = Math.max(result, tree[--r]);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.booking.service;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks striped by resource id.
+ *
+ * Bookings for the same resource always map to the same stripe and are serialized; bookings for
+ * different resources only contend when they happen to share a stripe. Locks are JVM-local; across
+ * instances bookings are serialized by the resource row lock taken inside the transaction.
+ */
+@Component
+public class ResourceLocks {
+    private final Lock[] stripes;
+
+    public ResourceLocks(Environment env) {
+        int requested = env.getProperty("booking.lock-stripes", Integer.class, 64);
+        if (requested < 1) {
+            throw new IllegalArgumentException("booking.lock-stripes must be positive: " + requested);
+        }
+        // round up to a power of two so the stripe can be picked with a mask
+        int size = Integer.highestOneBit(requested);
+        if (size < requested) size <<= 1;
+        this.stripes = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock forResource(Long resourceId) {
+        return stripes[stripeIndex(resourceId)];
+    }
+
+    /**
+     * Distinct stripes covering all given resources, in stripe order. Callers that need several
+     * resources at once must acquire them in this order to stay deadlock-free.
+     */
+    public List<Lock> forResources(Collection<Long> resourceIds) {
+        SortedSet<Integer> indexes = new TreeSet<>();
+        for (Long id : resourceIds) {
+            indexes.add(stripeIndex(id));
+        }
+        List<Lock> locks = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            locks.add(stripes[i]);
+        }
+        return locks;
+    }
+
+    int stripeIndex(Long resourceId) {
+        int h = resourceId == null ? 0 : resourceId.hashCode();
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+}
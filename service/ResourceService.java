@@ -1,22 +1,42 @@
 package com.example.booking.service;
 
+import com.example.booking.cache.ExpiringCache;
+import com.example.booking.dto.CacheStats;
 import com.example.booking.exception.ResourceNotFoundException;
 import com.example.booking.model.ResourceEntity;
 import com.example.booking.repository.ResourceRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class ResourceService {
+    private static final String CATALOG_KEY = "all";
+
     private final ResourceRepository repo;
+    private final ObjectMapper objectMapper;
+    private final ExpiringCache<Long, ResourceSnapshot> byId;
+    private final ExpiringCache<String, ResourceCatalog> catalog;
+    // bumped on every write so a load that raced with the write is not cached
+    private final AtomicLong generation = new AtomicLong();
 
-    public ResourceService(ResourceRepository repo) {
+    public ResourceService(ResourceRepository repo, ObjectMapper objectMapper, Environment env) {
         this.repo = repo;
+        this.objectMapper = objectMapper;
+        long ttlMs = env.getProperty("resources.cache.ttl-ms", Long.class, 300_000L);
+        this.byId = new ExpiringCache<>(env.getProperty("resources.cache.max-size", Integer.class, 10_000), ttlMs);
+        this.catalog = new ExpiringCache<>(1, ttlMs);
     }
 
     public ResourceEntity create(ResourceEntity r) {
-        return repo.save(r);
+        r.setVersion(null); // the version is managed by JPA, never taken from the request
+        r.setBookingVersion(0);
+        ResourceEntity saved = repo.save(r);
+        invalidate(saved.getId());
+        return saved;
     }
 
     public ResourceEntity update(Long id, ResourceEntity r) {
@@ -26,18 +46,58 @@ public class ResourceService {
         existing.setType(r.getType());
         existing.setCapacity(r.getCapacity());
         existing.setActive(r.isActive());
-        return repo.save(existing);
+        ResourceEntity saved = repo.save(existing);
+        invalidate(id);
+        return saved;
     }
 
     public void delete(Long id) {
         repo.deleteById(id);
+        invalidate(id);
     }
 
-    public ResourceEntity get(Long id) {
-        return repo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Resource not found: " + id));
+    /** Cached as an immutable snapshot; a managed entity shared between requests could be modified by any of them. */
+    public ResourceSnapshot get(Long id) {
+        ResourceSnapshot cached = byId.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        ResourceSnapshot loaded = repo.findById(id).map(ResourceSnapshot::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Resource not found: " + id));
+        if (generation.get() == seen) {
+            byId.put(id, loaded);
+        }
+        return loaded;
     }
 
     public List<ResourceEntity> list() {
         return repo.findAll();
     }
+
+    /** Cached, pre-serialized snapshot of all resources. */
+    public ResourceCatalog catalog() {
+        ResourceCatalog cached = catalog.get(CATALOG_KEY);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        ResourceCatalog loaded = ResourceCatalog.of(repo.findAll(), objectMapper);
+        if (generation.get() == seen) {
+            catalog.put(CATALOG_KEY, loaded);
+        }
+        return loaded;
+    }
+
+    public List<CacheStats> cacheStats() {
+        return List.of(
+                new CacheStats("resourceById", byId.size(), byId.hitCount(), byId.missCount(), byId.evictionCount()),
+                new CacheStats("resourceCatalog", catalog.size(), catalog.hitCount(), catalog.missCount(), catalog.evictionCount()));
+    }
+
+    private void invalidate(Long id) {
+        generation.incrementAndGet();
+        byId.invalidate(id);
+        catalog.invalidateAll();
+    }
 }
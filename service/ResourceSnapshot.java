@@ -0,0 +1,72 @@
+package com.example.booking.service;
+
+import com.example.booking.dto.ResourceDto;
+import com.example.booking.model.ResourceEntity;
+
+/**
+ * Immutable copy of a resource as it was read, safe to share between requests from the by-id cache; the managed
+ * entity it came from stays with the session that loaded it.
+ */
+public final class ResourceSnapshot {
+    private final Long id;
+    private final String name;
+    private final String type;
+    private final String description;
+    private final Integer capacity;
+    private final boolean active;
+    private final Long version;
+
+    private ResourceSnapshot(ResourceEntity r) {
+        this.id = r.getId();
+        this.name = r.getName();
+        this.type = r.getType();
+        this.description = r.getDescription();
+        this.capacity = r.getCapacity();
+        this.active = r.isActive();
+        this.version = r.getVersion();
+    }
+
+    static ResourceSnapshot of(ResourceEntity r) {
+        return new ResourceSnapshot(r);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Integer getCapacity() {
+        return capacity;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    /** A fresh DTO each call, so callers may modify it. */
+    public ResourceDto toDto() {
+        ResourceDto d = new ResourceDto();
+        d.setId(id);
+        d.setName(name);
+        d.setType(type);
+        d.setDescription(description);
+        d.setCapacity(capacity);
+        d.setActive(active);
+        return d;
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.booking.service;
+
+import com.example.booking.dto.RevenueByStatus;
+import com.example.booking.dto.RollupRebuildResult;
+import com.example.booking.dto.UtilizationDay;
+import com.example.booking.model.Reservation;
+import com.example.booking.model.ReservationRollup;
+import com.example.booking.model.ReservationStatus;
+import com.example.booking.repository.ArchivedReservationRepository;
+import com.example.booking.repository.ReservationFigures;
+import com.example.booking.repository.ReservationRepository;
+import com.example.booking.repository.ReservationRollupRepository;
+import com.example.booking.repository.ResourceRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Stream;
+
+/**
+ * Daily rollups of booked time, revenue and count per resource and status.
+ *
+ * Writers pass the rollup-relevant state of a reservation before and after their change; the difference is
+ * applied in the writer's transaction, so the rollups commit or roll back with the reservation. Writers hold
+ * the resource's lock stripe, which also keeps two transactions from inserting the same rollup row.
+ */
+@Service
+public class RollupService {
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    private final ReservationRollupRepository rollupRepository;
+    private final ReservationRepository reservationRepository;
+    private final ArchivedReservationRepository archiveRepository;
+    private final ResourceRepository resourceRepository;
+    private final ResourceService resourceService;
+    private final ResourceLocks resourceLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ZoneId zone;
+    private final int chunkSize;
+    private final long maxRangeDays;
+    private final ExecutorService rebuildPool;
+
+    public RollupService(ReservationRollupRepository rollupRepository, ReservationRepository reservationRepository,
+                         ArchivedReservationRepository archiveRepository, ResourceRepository resourceRepository, ResourceService resourceService, ResourceLocks resourceLocks,
+                         PlatformTransactionManager transactionManager, Environment env) {
+        this.rollupRepository = rollupRepository;
+        this.reservationRepository = reservationRepository;
+        this.archiveRepository = archiveRepository;
+        this.resourceRepository = resourceRepository;
+        this.resourceService = resourceService;
+        this.resourceLocks = resourceLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.zone = ZoneId.of(env.getProperty("booking.reports.zone", "UTC"));
+        this.chunkSize = Math.max(1, env.getProperty("booking.reports.rebuild-chunk-size", Integer.class, 100));
+        this.maxRangeDays = env.getProperty("booking.reports.max-range-days", Long.class, 366L);
+        this.rebuildPool = Executors.newFixedThreadPool(env.getProperty("booking.reports.rebuild-parallelism", Integer.class,
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildPool.shutdown();
+    }
+
+    /** The rollup-relevant fields of a reservation at one point in time. */
+    public static final class Contribution {
+        private final Long resourceId;
+        private final ReservationStatus status;
+        private final BigDecimal price;
+        private final Instant start;
+        private final Instant end;
+
+        private Contribution(Long resourceId, ReservationStatus status, BigDecimal price, Instant start, Instant end) {
+            this.resourceId = resourceId;
+            this.status = status;
+            this.price = price;
+            this.start = start;
+            this.end = end;
+        }
+
+        public static Contribution of(Reservation r) {
+            return new Contribution(r.getResource().getId(), r.getStatus(), r.getPrice(), r.getStartTime(), r.getEndTime());
+        }
+
+        static Contribution of(ReservationFigures f) {
+            return new Contribution(f.getResourceId(), f.getStatus(), f.getPrice(), f.getStartTime(), f.getEndTime());
+        }
+    }
+
+    /** Moves the rollups from {@code before} to {@code after}; either may be null for inserts and deletes. */
+    public void record(Contribution before, Contribution after) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        if (before != null) accumulate(deltas, before, -1);
+        if (after != null) accumulate(deltas, after, 1);
+        apply(deltas);
+    }
+
+    public void recordAll(Collection<Reservation> created) {
+        Map<RollupKey, Delta> deltas = new HashMap<>();
+        for (Reservation r : created) {
+            accumulate(deltas, Contribution.of(r), 1);
+        }
+        apply(deltas);
+    }
+
+    /** Booked vs. available minutes per day in [from, to], from CONFIRMED rollups; days without bookings report zero. */
+    public List<UtilizationDay> utilization(Long resourceId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        int capacity = BookingAdmission.effectiveCapacity(resourceService.get(resourceId).getCapacity());
+        Map<LocalDate, Long> booked = new HashMap<>();
+        for (ReservationRollup row : rollupRepository.findByResourceIdAndStatusAndDayBetweenOrderByDay(resourceId, ReservationStatus.CONFIRMED, from, to)) {
+            booked.put(row.getDay(), row.getBookedSeconds());
+        }
+        List<UtilizationDay> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            // day length follows the zone, so DST days are 23 or 25 hours long
+            long dayMinutes = Duration.between(day.atStartOfDay(zone), day.plusDays(1).atStartOfDay(zone)).toMinutes();
+            long available = dayMinutes * capacity;
+            long bookedMinutes = booked.getOrDefault(day, 0L) / 60;
+            days.add(new UtilizationDay(day, bookedMinutes, available, available == 0 ? 0 : (double) bookedMinutes / available));
+        }
+        return days;
+    }
+
+    /** Revenue and reservation count per status for reservations starting in [from, to], optionally for one resource. */
+    public List<RevenueByStatus> revenue(Long resourceId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<RevenueByStatus> totals = new ArrayList<>();
+        rollupRepository.sumRevenueByStatus(resourceId, from, to).forEach(t -> totals.add(new RevenueByStatus(
+                t.getStatus().name(), t.getRevenue(), t.getReservations() == null ? 0 : t.getReservations())));
+        return totals;
+    }
+
+    /**
+     * Recomputes every rollup from the reservations and archive tables. Resources are split into chunks rebuilt in parallel;
+     * each chunk holds its resources' lock stripes and replaces their rows in one transaction, so concurrent
+     * bookings on other resources proceed and none on these resources are lost.
+     */
+    public RollupRebuildResult rebuild() {
+        long startedAt = System.currentTimeMillis();
+        List<Long> resourceIds = resourceRepository.findAllIds();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int i = 0; i < resourceIds.size(); i += chunkSize) {
+            List<Long> chunk = resourceIds.subList(i, Math.min(i + chunkSize, resourceIds.size()));
+            chunks.add(CompletableFuture.runAsync(() -> rebuildChunk(chunk), rebuildPool));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+        long took = System.currentTimeMillis() - startedAt;
+        log.info("Rebuilt rollups for {} resources in {} chunks in {} ms", resourceIds.size(), chunks.size(), took);
+        return new RollupRebuildResult(resourceIds.size(), chunks.size(), took);
+    }
+
+    private void rebuildChunk(List<Long> resourceIds) {
+        List<Lock> locks = resourceLocks.forResources(resourceIds);
+        locks.forEach(Lock::lock);
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                rollupRepository.deleteByResourceIds(resourceIds);
+                Map<RollupKey, Delta> totals = new HashMap<>();
+                try (Stream<ReservationFigures> rows = reservationRepository.streamFiguresByResourceIds(resourceIds)) {
+                    rows.forEach(f -> accumulate(totals, Contribution.of(f), 1));
+                }
+                // archived reservations still count in the reports
+                try (Stream<ReservationFigures> rows = archiveRepository.streamFiguresByResourceIds(resourceIds)) {
+                    rows.forEach(f -> accumulate(totals, Contribution.of(f), 1));
+                }
+                List<ReservationRollup> fresh = new ArrayList<>(totals.size());
+                totals.forEach((key, delta) -> fresh.add(delta.toRollup(key)));
+                rollupRepository.saveAll(fresh);
+            });
+        } finally {
+            for (int i = locks.size() - 1; i >= 0; i--) {
+                locks.get(i).unlock();
+            }
+        }
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new IllegalArgumentException("Report range must not exceed " + maxRangeDays + " days");
+        }
+    }
+
+    /** Splits the booked time across the days it covers; price and count go to the start day. */
+    private void accumulate(Map<RollupKey, Delta> deltas, Contribution c, int sign) {
+        if (c.status == null || !ResourceIntervals.isValid(c.start, c.end)) return;
+        LocalDate day = c.start.atZone(zone).toLocalDate();
+        Delta first = deltas.computeIfAbsent(new RollupKey(c.resourceId, day, c.status), k -> new Delta());
+        first.count += sign;
+        if (c.price != null) {
+            first.revenue = sign > 0 ? first.revenue.add(c.price) : first.revenue.subtract(c.price);
+        }
+        Instant cursor = c.start;
+        while (cursor.isBefore(c.end)) {
+            Instant nextDay = day.plusDays(1).atStartOfDay(zone).toInstant();
+            Instant until = nextDay.isBefore(c.end) ? nextDay : c.end;
+            deltas.computeIfAbsent(new RollupKey(c.resourceId, day, c.status), k -> new Delta()).seconds +=
+                    sign * Duration.between(cursor, until).getSeconds();
+            cursor = until;
+            day = day.plusDays(1);
+        }
+    }
+
+    private void apply(Map<RollupKey, Delta> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (delta.isZero()) return;
+            int updated = rollupRepository.increment(key.resourceId, key.day, key.status, delta.seconds, delta.revenue, delta.count);
+            if (updated == 0) {
+                rollupRepository.save(delta.toRollup(key));
+            }
+        });
+    }
+
+    private static final class RollupKey {
+        final Long resourceId;
+        final LocalDate day;
+        final ReservationStatus status;
+
+        RollupKey(Long resourceId, LocalDate day, ReservationStatus status) {
+            this.resourceId = resourceId;
+            this.day = day;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RollupKey)) return false;
+            RollupKey other = (RollupKey) o;
+            return resourceId.equals(other.resourceId) && day.equals(other.day) && status == other.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(resourceId, day, status);
+        }
+    }
+
+    private static final class Delta {
+        long seconds;
+        BigDecimal revenue = BigDecimal.ZERO;
+        long count;
+
+        boolean isZero() {
+            return seconds == 0 && count == 0 && revenue.signum() == 0;
+        }
+
+        ReservationRollup toRollup(RollupKey key) {
+            ReservationRollup row = new ReservationRollup();
+            row.setResourceId(key.resourceId);
+            row.setDay(key.day);
+            row.setStatus(key.status);
+            row.setBookedSeconds(seconds);
+            row.setRevenue(revenue);
+            row.setReservations(count);
+            return row;
+        }
+    }
+}
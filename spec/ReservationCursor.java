@@ -0,0 +1,117 @@
+package com.example.booking.spec;
+
+import com.example.booking.dto.ReservationResponse;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Set;
+
+/**
+ * Position in a keyset-paginated reservation listing: the sort key and direction, plus the sort value
+ * and id of the last row already returned. Clients only ever see it as an opaque token.
+ */
+public class ReservationCursor {
+    private static final Set<String> SORT_FIELDS = Set.of("createdAt", "updatedAt", "startTime", "endTime", "id");
+
+    private final String field;
+    private final Sort.Direction direction;
+    private final Instant lastValue;
+    private final Long lastId;
+
+    private ReservationCursor(String field, Sort.Direction direction, Instant lastValue, Long lastId) {
+        if (!SORT_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Cursor pagination supports sorting by " + SORT_FIELDS + " only");
+        }
+        this.field = field;
+        this.direction = direction;
+        this.lastValue = lastValue;
+        this.lastId = lastId;
+    }
+
+    /** First page for the given {@code field,dir} sort expression (default {@code createdAt,desc}). */
+    public static ReservationCursor start(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return new ReservationCursor("createdAt", Sort.Direction.DESC, null, null);
+        }
+        String[] parts = sort.split(",");
+        Sort.Direction dir = parts.length > 1 && parts[1].equalsIgnoreCase("asc") ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return new ReservationCursor(parts[0], dir, null, null);
+    }
+
+    public static ReservationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) throw new IllegalArgumentException();
+            Instant value = parts[2].isEmpty() ? null : Instant.parse(parts[2]);
+            return new ReservationCursor(parts[0], Sort.Direction.fromString(parts[1]), value, Long.valueOf(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = field + "|" + direction.name() + "|" + (lastValue == null ? "" : lastValue.toString()) + "|" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Cursor positioned after {@code last}, keeping this cursor's sort. */
+    public ReservationCursor after(ReservationResponse last) {
+        Instant value = valueOf(last);
+        if (value == null && !isIdOnly()) {
+            throw new IllegalStateException("Reservation " + last.getId() + " has no " + field + " to continue from");
+        }
+        return new ReservationCursor(field, direction, value, last.getId());
+    }
+
+    /** The id breaks ties so the order is total and no row is skipped or repeated. */
+    public Sort toSort() {
+        return isIdOnly() ? Sort.by(direction, "id") : Sort.by(direction, field).and(Sort.by(direction, "id"));
+    }
+
+    /** {@link #toSort()} applied in memory, for merging rows read from more than one table. */
+    public Comparator<ReservationResponse> comparator() {
+        Comparator<ReservationResponse> byId = Comparator.comparing(ReservationResponse::getId);
+        Comparator<ReservationResponse> order = isIdOnly() ? byId
+                : Comparator.comparing(this::valueOf, Comparator.nullsFirst(Comparator.<Instant>naturalOrder())).thenComparing(byId);
+        return direction.isAscending() ? order : order.reversed();
+    }
+
+    private Instant valueOf(ReservationResponse row) {
+        return switch (field) {
+            case "createdAt" -> row.getCreatedAt();
+            case "updatedAt" -> row.getUpdatedAt();
+            case "startTime" -> row.getStartTime();
+            case "endTime" -> row.getEndTime();
+            default -> null;
+        };
+    }
+
+    public boolean isStart() {
+        return lastId == null;
+    }
+
+    public boolean isIdOnly() {
+        return field.equals("id");
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Instant getLastValue() {
+        return lastValue;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.domain.Specification;
 
 import jakarta.persistence.criteria.*;
 import java.math.BigDecimal;
+import java.time.Instant;
 
 public class ReservationSpecification {
     public static Specification<Reservation> build(String requestingUsername, boolean isAdmin,
@@ -28,4 +29,23 @@ public class ReservationSpecification {
             return p;
         };
     }
+
+    /** Keyset predicate: rows strictly after the cursor position in the cursor's sort order. */
+    public static Specification<Reservation> after(ReservationCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor.isStart()) {
+                return cb.conjunction();
+            }
+            boolean asc = cursor.getDirection().isAscending();
+            Path<Long> id = root.get("id");
+            Predicate idAfter = asc ? cb.greaterThan(id, cursor.getLastId()) : cb.lessThan(id, cursor.getLastId());
+            if (cursor.isIdOnly()) {
+                return idAfter;
+            }
+            Path<Instant> key = root.get(cursor.getField());
+            Instant last = cursor.getLastValue();
+            Predicate keyAfter = asc ? cb.greaterThan(key, last) : cb.lessThan(key, last);
+            return cb.or(keyAfter, cb.and(cb.equal(key, last), idAfter));
+        };
+    }
 }
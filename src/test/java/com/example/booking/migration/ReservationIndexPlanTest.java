@@ -0,0 +1,149 @@
+package com.example.booking.migration;
+
+import com.example.booking.model.Reservation;
+import com.example.booking.model.ReservationStatus;
+import com.example.booking.model.ResourceEntity;
+import com.example.booking.model.User;
+import com.example.booking.repository.ReservationRepository;
+import com.example.booking.repository.ResourceRepository;
+import com.example.booking.repository.UserRepository;
+import com.example.booking.service.ReservationService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The hot queries are planned on the migration indexes. Each test runs the real repository or service call, takes
+ * the SQL Hibernate generated for it from a {@link StatementInspector} and explains that, so a change to a query
+ * that loses its index fails here. Runs on the embedded H2 database only; the captured statements can be checked on
+ * PostgreSQL with {@code EXPLAIN} by hand.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.booking.migration.ReservationIndexPlanTest$SqlCapture")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReservationIndexPlanTest {
+    private static final int ROWS = 3_000;
+    private static final int PAGE = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ReservationService reservationService;
+
+    private Long resourceId;
+
+    @BeforeAll
+    void seed() {
+        // enough rows, spread over resources and users, that a scan is never the cheaper plan
+        List<ResourceEntity> resources = resourceRepository.findAll();
+        List<User> users = List.of(userRepository.findByUsername("admin").orElseThrow(),
+                userRepository.findByUsername("user").orElseThrow());
+        Instant origin = Instant.parse("2030-01-01T00:00:00Z");
+        List<Reservation> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Reservation r = new Reservation();
+            r.setResource(resources.get(i % resources.size()));
+            r.setUser(users.get(i % users.size()));
+            r.setStatus(i % 3 == 0 ? ReservationStatus.PENDING : ReservationStatus.CONFIRMED);
+            r.setPrice(BigDecimal.TEN);
+            r.setStartTime(origin.plus(Duration.ofHours(i)));
+            r.setEndTime(r.getStartTime().plus(Duration.ofMinutes(90)));
+            rows.add(r);
+        }
+        reservationRepository.saveAll(rows);
+        jdbcTemplate.execute("ANALYZE");
+        resourceId = resources.get(0).getId();
+    }
+
+    @Test
+    void overlapCheckUsesOverlapIndex() {
+        Instant start = Instant.parse("2030-02-01T08:00:00Z");
+        Instant end = Instant.parse("2030-02-01T12:00:00Z");
+        String sql = capture(() -> reservationRepository.findIntervalsOverlapping(
+                List.of(resourceId), ReservationStatus.CONFIRMED, start, end));
+        assertPlanUses("idx_reservation_overlap", sql, resourceId, "CONFIRMED", Timestamp.from(end), Timestamp.from(start));
+    }
+
+    @Test
+    void indexReloadUsesOverlapIndex() {
+        String sql = capture(() -> reservationRepository.findIntervalsByResourceAndStatus(resourceId, ReservationStatus.CONFIRMED));
+        assertPlanUses("idx_reservation_overlap", sql, resourceId, "CONFIRMED");
+    }
+
+    @Test
+    void ownListUsesUserCreatedIndex() {
+        String sql = capture(() -> reservationService.list("user", false, null, null, null, 0, PAGE, null, false));
+        assertPlanUses("idx_reservation_user_created", sql, "user");
+    }
+
+    @Test
+    void adminListUsesCreatedIndex() {
+        String sql = capture(() -> reservationService.list("admin", true, null, null, null, 0, PAGE, null, false));
+        assertPlanUses("idx_reservation_created", sql);
+    }
+
+    @Test
+    void archiverUsesEndIndex() {
+        Instant cutoff = Instant.parse("2030-01-02T00:00:00Z");
+        String sql = capture(() -> reservationRepository.findIntervalsEndedBefore(cutoff, PageRequest.of(0, 500)));
+        assertPlanUses("idx_reservation_end", sql, Timestamp.from(cutoff));
+    }
+
+    /** The first statement on the reservations table that {@code call} issues; a page's count query comes after it. */
+    private static String capture(Runnable call) {
+        SqlCapture.STATEMENTS.clear();
+        call.run();
+        return SqlCapture.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains("reservations"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no reservations query captured: " + SqlCapture.STATEMENTS));
+    }
+
+    /**
+     * Explains {@code sql} with {@code params} bound in order; placeholders left after them are the page limit and
+     * offset Hibernate appends, bound to the page size.
+     */
+    private void assertPlanUses(String index, String sql, Object... params) {
+        int placeholders = (int) sql.chars().filter(c -> c == '?').count();
+        Object[] bound = Arrays.copyOf(params, placeholders);
+        Arrays.fill(bound, params.length, placeholders, PAGE);
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, bound));
+        assertTrue(plan.toUpperCase(Locale.ROOT).contains(index.toUpperCase(Locale.ROOT)),
+                () -> index + " not used by\n" + sql + "\n" + plan);
+    }
+
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.booking.security;
+
+import com.example.booking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tokens carry role names as stored ({@code ROLE_ADMIN}); they must satisfy {@code hasRole('ADMIN')} on the
+ * admin endpoints and the metrics chain.
+ */
+@SpringBootTest(properties = {
+        "management.endpoints.web.exposure.include=health,prometheus",
+        "booking.metrics.scrape-username=scraper",
+        "booking.metrics.scrape-password=scrape-secret"})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class AdminAccessTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void adminTokenScrapesMetrics() throws Exception {
+        mvc.perform(get("/actuator/prometheus").header("Authorization", bearer("admin", "ROLE_ADMIN")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void scrapeCredentialScrapesMetrics() throws Exception {
+        mvc.perform(get("/actuator/prometheus").with(httpBasic("scraper", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userTokenAndAnonymousCannotScrape() throws Exception {
+        mvc.perform(get("/actuator/prometheus").header("Authorization", bearer("user", "ROLE_USER")))
+                .andExpect(status().isForbidden());
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void adminTokenReachesAdminEndpoints() throws Exception {
+        String admin = bearer("admin", "ROLE_ADMIN");
+        mvc.perform(get("/resources/cache/stats").header("Authorization", admin))
+                .andExpect(status().isOk());
+        mvc.perform(get("/reports/revenue").param("from", "2030-01-01").param("to", "2030-01-31").header("Authorization", admin))
+                .andExpect(status().isOk());
+        mvc.perform(get("/resources/cache/stats").header("Authorization", bearer("user", "ROLE_USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private String bearer(String username, String role) {
+        Long id = userRepository.findByUsername(username).orElseThrow().getId();
+        return "Bearer " + jwtUtil.generateToken(id, username, Set.of(role));
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.booking.service;
+
+import com.example.booking.dto.ReservationRequest;
+import com.example.booking.model.ReservationStatus;
+import com.example.booking.model.ResourceEntity;
+import com.example.booking.repository.ReservationRepository;
+import com.example.booking.repository.ResourceRepository;
+import com.example.booking.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many clients racing for the same slot: the capacity check and the insert must be atomic, so exactly
+ * {@code capacity} of them get a CONFIRMED booking and the rest are rejected. Bookings on one resource must not
+ * hold up bookings on another.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReservationConcurrencyTest {
+    private static final Instant START = Instant.parse("2030-03-01T09:00:00Z");
+    private static final Instant END = Instant.parse("2030-03-01T10:00:00Z");
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ResourceService resourceService;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ResourceLocks resourceLocks;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void admitsExactlyCapacityOfConcurrentBookingsForOneSlot() throws Exception {
+        int capacity = 3;
+        int clients = 2_000;
+        Long resourceId = resource(capacity);
+        Long adminId = adminId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>(clients);
+        try {
+            for (int i = 0; i < clients; i++) {
+                // every request overlaps the slot, each with its own boundaries
+                Instant start = START.plus(Duration.ofMinutes(i % 30));
+                Instant end = END.minus(Duration.ofMinutes(i % 29));
+                outcomes.add(pool.submit(() -> {
+                    go.await();
+                    try {
+                        reservationService.create("admin", adminId, confirmed(resourceId, start, end), true);
+                        return true;
+                    } catch (IllegalArgumentException rejected) {
+                        return false;
+                    }
+                }));
+            }
+            go.countDown();
+            int admitted = 0;
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+            for (Future<Boolean> outcome : outcomes) {
+                if (outcome.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) admitted++;
+            }
+
+            assertEquals(capacity, admitted);
+            assertEquals(capacity, reservationRepository.findIntervalsOverlapping(
+                    List.of(resourceId), ReservationStatus.CONFIRMED, START, END).size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void bookingsOnAnotherResourceProceedWhileOneIsHeld() throws Exception {
+        Long held = resource(1);
+        Long other = resource(1);
+        while (resourceLocks.forResource(other) == resourceLocks.forResource(held)) {
+            other = resource(1);
+        }
+        assertNotSame(resourceLocks.forResource(held), resourceLocks.forResource(other));
+        Long free = other;
+        Long adminId = adminId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // a long booking on the held resource: its stripe and its row lock stay taken until released
+            Future<?> holder = pool.submit(() -> {
+                Lock lock = resourceLocks.forResource(held);
+                lock.lock();
+                try {
+                    new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                        resourceRepository.lockForBooking(List.of(held));
+                        holding.countDown();
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                } finally {
+                    lock.unlock();
+                }
+                return null;
+            });
+            assertTrue(holding.await(10, TimeUnit.SECONDS));
+            Future<?> waiting = pool.submit(() -> reservationService.create("admin", adminId, confirmed(held, START, END), true));
+
+            List<Future<?>> elsewhere = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Instant start = START.plus(Duration.ofHours(2L * i));
+                elsewhere.add(pool.submit(() -> reservationService.create("admin", adminId,
+                        confirmed(free, start, start.plus(Duration.ofHours(1))), true)));
+            }
+            for (Future<?> booking : elsewhere) {
+                booking.get(10, TimeUnit.SECONDS);
+            }
+            assertFalse(waiting.isDone(), "booking on the held resource finished while it was held");
+
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+            waiting.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    private Long adminId() {
+        return userRepository.findByUsername("admin").orElseThrow().getId();
+    }
+
+    private Long resource(int capacity) {
+        ResourceEntity resource = new ResourceEntity();
+        resource.setName("Desk pool " + System.nanoTime());
+        resource.setType("Desk");
+        resource.setCapacity(capacity);
+        resource.setActive(true);
+        return resourceService.create(resource).getId();
+    }
+
+    private static ReservationRequest confirmed(Long resourceId, Instant start, Instant end) {
+        ReservationRequest req = new ReservationRequest();
+        req.setResourceId(resourceId);
+        req.setPrice(BigDecimal.TEN);
+        req.setStartTime(start.toString());
+        req.setEndTime(end.toString());
+        req.setStatus(ReservationStatus.CONFIRMED.name());
+        return req;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.booking.service;
+
+import com.example.booking.dto.CursorPage;
+import com.example.booking.dto.ReservationRequest;
+import com.example.booking.dto.ReservationResponse;
+import com.example.booking.model.Reservation;
+import com.example.booking.model.ReservationStatus;
+import com.example.booking.model.ResourceEntity;
+import com.example.booking.model.User;
+import com.example.booking.repository.ReservationRepository;
+import com.example.booking.repository.ResourceRepository;
+import com.example.booking.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The list, cursor and get paths read every response column in one statement, whatever the page size: rows span
+ * several users and resources, so any per-row loading of either would show up as extra statements. Creating a
+ * booking reads only the locked resource row.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.booking.service.ReservationListStatementCountTest$SelectCounter"})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReservationListStatementCountTest {
+    private static final int ROWS = 60;
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private ResourceService resourceService;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private ResourceRepository resourceRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long someReservationId;
+
+    @BeforeAll
+    void seed() {
+        List<ResourceEntity> resources = resourceRepository.findAll();
+        List<User> users = List.of(userRepository.findByUsername("admin").orElseThrow(),
+                userRepository.findByUsername("user").orElseThrow());
+        Instant origin = Instant.parse("2030-01-01T08:00:00Z");
+        List<Reservation> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Reservation r = new Reservation();
+            r.setResource(resources.get(i % resources.size()));
+            r.setUser(users.get(i % users.size()));
+            r.setStatus(ReservationStatus.PENDING);
+            r.setPrice(BigDecimal.valueOf(10 + i));
+            r.setStartTime(origin.plus(Duration.ofHours(i)));
+            r.setEndTime(r.getStartTime().plus(Duration.ofMinutes(30)));
+            rows.add(r);
+        }
+        someReservationId = reservationRepository.saveAll(rows).get(ROWS / 2).getId();
+    }
+
+    @Test
+    void listPageIsOneSelectPlusCountRegardlessOfSize() {
+        for (int size : new int[]{5, 25}) {
+            Page<ReservationResponse> page = counting(2,
+                    () -> reservationService.list("admin", true, null, null, null, 0, size, null, false));
+            assertEquals(size, page.getContent().size());
+            assertEquals(ROWS, page.getTotalElements());
+        }
+    }
+
+    @Test
+    void ownListIsOneSelectPlusCount() {
+        Page<ReservationResponse> page = counting(2,
+                () -> reservationService.list("user", false, null, null, null, 0, 20, null, false));
+        assertEquals(20, page.getContent().size());
+    }
+
+    @Test
+    void cursorPageIsOneSelect() {
+        CursorPage<ReservationResponse> page = counting(1,
+                () -> reservationService.scroll("admin", true, null, null, null, null, 40, null));
+        assertEquals(40, page.getContent().size());
+    }
+
+    @Test
+    void getIsOneSelect() {
+        ReservationResponse response = counting(1, () -> reservationService.getResponse(someReservationId, "admin", true));
+        assertEquals(someReservationId, response.getId());
+    }
+
+    @Test
+    void createIsOneSelect() {
+        ResourceEntity resource = new ResourceEntity();
+        resource.setName("Room " + System.nanoTime());
+        resource.setType("Room");
+        resource.setCapacity(5);
+        resource.setActive(true);
+        Long resourceId = resourceService.create(resource).getId();
+        Long adminId = userRepository.findByUsername("admin").orElseThrow().getId();
+        // same resource and day: the index has the resource in step and the day's rollup row exists
+        reservationService.create("admin", adminId, confirmed(resourceId, "2031-05-05T09:00:00Z", "2031-05-05T10:00:00Z"), true);
+
+        SelectCounter.SELECTS.set(0);
+        ReservationResponse created = reservationService.create("admin", adminId,
+                confirmed(resourceId, "2031-05-05T11:00:00Z", "2031-05-05T12:00:00Z"), true);
+        assertEquals(1, SelectCounter.SELECTS.get());
+        assertEquals(resourceId, created.getResourceId());
+    }
+
+    private static ReservationRequest confirmed(Long resourceId, String start, String end) {
+        ReservationRequest req = new ReservationRequest();
+        req.setResourceId(resourceId);
+        req.setPrice(BigDecimal.TEN);
+        req.setStartTime(start);
+        req.setEndTime(end);
+        req.setStatus(ReservationStatus.CONFIRMED.name());
+        return req;
+    }
+
+    /** Counts SELECTs, leaving out id sequence reads, which come once per allocation block. */
+    public static class SelectCounter implements StatementInspector {
+        static final AtomicInteger SELECTS = new AtomicInteger();
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.trim().toLowerCase(Locale.ROOT);
+            if (normalized.startsWith("select") && !normalized.contains("_seq")) {
+                SELECTS.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+
+    private <T> T counting(long expectedStatements, Supplier<T> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        T result = call.get();
+        assertEquals(expectedStatements, statistics.getPrepareStatementCount());
+        return result;
+    }
+}